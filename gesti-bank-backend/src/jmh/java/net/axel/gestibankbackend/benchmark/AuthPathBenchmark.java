@@ -0,0 +1,83 @@
+package net.axel.gestibankbackend.benchmark;
+
+import jakarta.servlet.FilterChain;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.repository.UserRepository;
+import net.axel.gestibankbackend.security.JwtFilter;
+import net.axel.gestibankbackend.security.service.JWTService;
+import net.axel.gestibankbackend.security.service.PrincipalCache;
+import net.axel.gestibankbackend.security.service.TokenRevocationList;
+import net.axel.gestibankbackend.security.service.UserPrincipal;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole JwtFilter pass for one authenticated request, stateful (principal cache) against
+ * stateless (claims only) and with or without the verified-token cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthPathBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private final FilterChain chain = (request, response) -> { };
+
+    private JwtFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        AppUser user = BenchmarkFixtures.user(1, AppRole.AGENT);
+        UserRepository repository = Mockito.mock(UserRepository.class);
+        Mockito.when(repository.findPrincipalByEmail(user.getEmail()))
+                .thenReturn(Optional.of(new UserPrincipal(user.getId(), user.getEmail(), user.getRole())));
+
+        JWTService jwtService = new JWTService(verifiedCacheSize, Duration.ofMinutes(1));
+        PrincipalCache principalCache = new PrincipalCache(repository, 10_000, Duration.ofMinutes(5));
+        filter = new JwtFilter(jwtService, principalCache, new TokenRevocationList(jwtService));
+        ReflectionTestUtils.setField(filter, "stateless", stateless);
+
+        authorization = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/demands");
+        request.addHeader("Authorization", authorization);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
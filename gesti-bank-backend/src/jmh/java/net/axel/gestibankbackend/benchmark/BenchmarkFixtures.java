@@ -0,0 +1,67 @@
+package net.axel.gestibankbackend.benchmark;
+
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Article;
+import net.axel.gestibankbackend.domain.entities.Comment;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.entities.Quote;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.CommentType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    static final int ARTICLES_PER_DEMAND = 10;
+    static final int COMMENTS_PER_OWNER = 3;
+
+    private BenchmarkFixtures() {
+    }
+
+    static AppUser user(long id, AppRole role) {
+        return AppUser.register("user" + id, "benchmark", "user" + id + "@chaabi.com", "{noop}secret", role)
+                .setId(id);
+    }
+
+    static Demand demand(long id, AppUser creator) {
+        Demand demand = Demand.createDemand("demand " + id, "printer toner and paper for the branch", null, creator)
+                .setId(id);
+
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < ARTICLES_PER_DEMAND; i++) {
+            articles.add(Article.createArticle("article " + i, "article description", i + 1, demand)
+                    .setId(id * 100 + i)
+                    .setPrice(12.5 * (i + 1)));
+        }
+        demand.setArticles(articles);
+        demand.setComments(comments(id, creator));
+        return demand;
+    }
+
+    static Quote quote(long id, AppUser provider, Demand demand) {
+        return Quote.createQuote(provider, demand, 1250.0)
+                .setId(id)
+                .setComments(comments(id, provider));
+    }
+
+    static AppUser userWithHistory(long id, int demands, int quotes) {
+        AppUser user = user(id, AppRole.PROVIDER);
+        for (int i = 0; i < demands; i++) {
+            user.getDemands().add(demand(i, user));
+        }
+        for (int i = 0; i < quotes; i++) {
+            user.getQuotes().add(quote(i, user, user.getDemands().get(i % demands)));
+        }
+        return user;
+    }
+
+    private static List<Comment> comments(long ownerId, AppUser creator) {
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS_PER_OWNER; i++) {
+            comments.add(Comment.createComment("comment " + i + " on " + ownerId, CommentType.APPROVED, creator)
+                    .setId(ownerId * 10 + i));
+        }
+        return comments;
+    }
+}
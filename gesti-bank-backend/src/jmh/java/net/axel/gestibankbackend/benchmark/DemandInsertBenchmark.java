@@ -0,0 +1,77 @@
+package net.axel.gestibankbackend.benchmark;
+
+import net.axel.gestibankbackend.domain.dtos.article.requests.ArticleRequestDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandRequestDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandResponseDTO;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.repository.UserRepository;
+import net.axel.gestibankbackend.service.DemandService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Demands created per second through {@link DemandService#create}, with JDBC batching
+ * effectively off ({@code batchSize=1}) and at the configured size. H2 runs in process, so
+ * the gap against a networked Postgres, where each statement is a round trip, is wider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DemandInsertBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int articles;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private DemandService demandService;
+    private DemandRequestDTO request;
+    private String email;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("inserts",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        demandService = context.getBean(DemandService.class);
+
+        AppUser agent = context.getBean(UserRepository.class)
+                .save(AppUser.register("agent", "benchmark", "agent@chaabi.com", "{noop}secret", AppRole.AGENT));
+        email = agent.getEmail();
+
+        List<ArticleRequestDTO> articleRequests = IntStream.range(0, articles)
+                .mapToObj(i -> new ArticleRequestDTO("article " + i, "article description", i + 1))
+                .toList();
+        request = new DemandRequestDTO("demand", "printer toner and paper for the branch", null, articleRequests);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DemandResponseDTO createDemand() {
+        return demandService.create(request, email);
+    }
+}
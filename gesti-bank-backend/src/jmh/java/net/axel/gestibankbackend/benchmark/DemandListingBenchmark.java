@@ -0,0 +1,112 @@
+package net.axel.gestibankbackend.benchmark;
+
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandResponseDTO;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Article;
+import net.axel.gestibankbackend.domain.entities.Comment;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.CommentType;
+import net.axel.gestibankbackend.mapper.DemandMapper;
+import net.axel.gestibankbackend.repository.DemandRepository;
+import net.axel.gestibankbackend.repository.UserRepository;
+import net.axel.gestibankbackend.service.DemandService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Demand listing against an in-memory H2: the lazy entity path the service used to take and
+ * the projection path it uses now. Run with {@code -prof gc}
+ * to compare allocations per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DemandListingBenchmark {
+
+    private static final int DEMANDS = 500;
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private DemandService demandService;
+    private DemandRepository demandRepository;
+    private DemandMapper demandMapper;
+    private TransactionTemplate transactionTemplate;
+    private PageRequest pageRequest;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start("listing");
+
+        demandService = context.getBean(DemandService.class);
+        demandRepository = context.getBean(DemandRepository.class);
+        demandMapper = context.getBean(DemandMapper.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        pageRequest = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "id"));
+
+        seed(context.getBean(UserRepository.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DemandResponseDTO> lazyEntities() {
+        return transactionTemplate.execute(status -> demandRepository.findAll(pageRequest)
+                .map(demandMapper::toResponseDto)
+                .getContent());
+    }
+
+    @Benchmark
+    public List<DemandResponseDTO> projections() {
+        return demandService.findAll(0, pageSize);
+    }
+
+    private void seed(UserRepository userRepository) {
+        List<AppUser> agents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            agents.add(AppUser.register("agent" + i, "benchmark", "agent" + i + "@chaabi.com", "{noop}secret", AppRole.AGENT));
+        }
+        userRepository.saveAll(agents);
+
+        List<Demand> demands = new ArrayList<>();
+        for (int i = 0; i < DEMANDS; i++) {
+            AppUser agent = agents.get(i % agents.size());
+            Demand demand = Demand.createDemand("demand " + i, "printer toner and paper for the branch", null, agent);
+            for (int j = 0; j < BenchmarkFixtures.ARTICLES_PER_DEMAND; j++) {
+                demand.getArticles().add(Article.createArticle("article " + j, "article description", j + 1, demand));
+            }
+            for (int j = 0; j < BenchmarkFixtures.COMMENTS_PER_OWNER; j++) {
+                demand.getComments().add(Comment.createComment("comment " + j, CommentType.APPROVED, agent).setDemand(demand));
+            }
+            demands.add(demand);
+        }
+        demandRepository.saveAll(demands);
+    }
+}
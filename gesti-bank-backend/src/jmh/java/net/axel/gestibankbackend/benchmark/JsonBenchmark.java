@@ -0,0 +1,58 @@
+package net.axel.gestibankbackend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandResponseDTO;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.mapper.CommentMapper;
+import net.axel.gestibankbackend.mapper.DemandMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private List<DemandResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, DemandResponseDTO.class));
+
+        DemandMapper mapper = new DemandMapper(new CommentMapper());
+        AppUser agent = BenchmarkFixtures.user(1, AppRole.AGENT);
+        page = LongStream.range(0, pageSize)
+                .mapToObj(id -> mapper.toResponseDto(BenchmarkFixtures.demand(id, agent)))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeDemandPage() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+}
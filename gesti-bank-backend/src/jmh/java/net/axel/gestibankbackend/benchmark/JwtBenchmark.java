@@ -0,0 +1,56 @@
+package net.axel.gestibankbackend.benchmark;
+
+import io.jsonwebtoken.Claims;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.security.service.JWTService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private final AppUser user = BenchmarkFixtures.user(1, AppRole.AGENT);
+
+    private JWTService uncached;
+    private JWTService cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JWTService(0, Duration.ofMinutes(1));
+        cached = new JWTService(10_000, Duration.ofMinutes(1));
+        token = uncached.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cached.verify(token);
+    }
+}
@@ -0,0 +1,70 @@
+package net.axel.gestibankbackend.benchmark;
+
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandResponseDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteResponseDTO;
+import net.axel.gestibankbackend.domain.dtos.user.responses.UserResponseDTO;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.entities.Quote;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.mapper.CommentMapper;
+import net.axel.gestibankbackend.mapper.DemandMapper;
+import net.axel.gestibankbackend.mapper.QuoteMapper;
+import net.axel.gestibankbackend.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private DemandMapper demandMapper;
+    private QuoteMapper quoteMapper;
+    private UserMapper userMapper;
+
+    private Demand demand;
+    private Quote quote;
+    private AppUser userWithHistory;
+
+    @Setup
+    public void setUp() {
+        CommentMapper commentMapper = new CommentMapper();
+        demandMapper = new DemandMapper(commentMapper);
+        quoteMapper = new QuoteMapper(demandMapper, commentMapper);
+        userMapper = new UserMapper(demandMapper, quoteMapper);
+
+        AppUser agent = BenchmarkFixtures.user(1, AppRole.AGENT);
+        demand = BenchmarkFixtures.demand(1, agent);
+        quote = BenchmarkFixtures.quote(1, BenchmarkFixtures.user(2, AppRole.PROVIDER), demand);
+        userWithHistory = BenchmarkFixtures.userWithHistory(3, 50, 20);
+    }
+
+    @Benchmark
+    public DemandResponseDTO demandToResponseDto() {
+        return demandMapper.toResponseDto(demand);
+    }
+
+    @Benchmark
+    public QuoteResponseDTO quoteMapToResponse() {
+        return quoteMapper.mapToResponse(quote);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToResponseDTO() {
+        return userMapper.toResponseDTO(userWithHistory);
+    }
+}
@@ -0,0 +1,143 @@
+package net.axel.gestibankbackend.benchmark;
+
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Demands created per second over HTTP, with Tomcat on a small platform thread pool or on
+ * virtual threads. Every connection checkout sleeps {@code dbLatencyMillis}, standing in for
+ * the round trips to a networked Postgres, so requests block the way they do in production.
+ * Platform mode tops out at the Tomcat pool size, virtual mode at the connection limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int TOMCAT_THREADS = 16;
+    private static final int CONNECTIONS = 32;
+
+    @Param({"false", "true"})
+    public boolean virtual;
+
+    @Param({"5", "200"})
+    public int dbLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest create;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        context = BenchmarkContext.start("threads", new Class<?>[]{SlowConnections.class},
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--spring.datasource.hikari.maximum-pool-size=" + CONNECTIONS,
+                "--benchmark.db-latency-millis=" + dbLatencyMillis);
+        context.getBean(UserRepository.class)
+                .save(AppUser.register("agent", "benchmark", "agent@chaabi.com", "{noop}secret", AppRole.AGENT));
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"agent@chaabi.com\",\"password\":\"secret\"}"))
+                        .build(), HttpResponse.BodyHandlers.ofString())
+                .body();
+        String token = login.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+        create = HttpRequest.newBuilder(URI.create(baseUrl + "/demands"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("title=demand&description=printer+toner"
+                        + "&articles%5B0%5D.name=toner&articles%5B0%5D.quantity=2"
+                        + "&articles%5B1%5D.name=paper&articles%5B1%5D.quantity=10"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createDemand() throws IOException, InterruptedException {
+        int status = client.send(create, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 201) throw new IllegalStateException("Demand creation answered " + status);
+        return status;
+    }
+
+    @Configuration
+    static class SlowConnections {
+
+        /**
+         * Wraps the pool before the connection limiter does, so the latency is spent while
+         * holding a connection, like a query would.
+         */
+        @Bean
+        static BeanPostProcessor slowConnections(@Value("${benchmark.db-latency-millis}") long latencyMillis) {
+            return new OrderedPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || latencyMillis == 0) return bean;
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            Connection connection = super.getConnection();
+                            try {
+                                Thread.sleep(latencyMillis);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return connection;
+                        }
+                    };
+                }
+            };
+        }
+
+        interface OrderedPostProcessor extends BeanPostProcessor, Ordered {
+
+            @Override
+            default int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package net.axel.gestibankbackend.loadtest;
+
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.CommentType;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds users, demands, articles, quotes and comments. Users go through a JDBC batch, the
+ * bulk tables are streamed with {@code COPY ... FROM STDIN}. Every row is derived from the
+ * seed and its index, so two runs with the same options produce the same data set. Ids
+ * continue after the current maximum, seeding an existing database only adds rows; the id
+ * sequences must be realigned afterwards.
+ */
+final class DataGenerator {
+
+    static final String PASSWORD = "loadtest";
+
+    private static final int COPY_BUFFER = 1 << 20;
+    private static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+    private static final long HISTORY_SECONDS = Duration.ofDays(365).toSeconds();
+    private static final DemandStatus[] DEMAND_STATUSES = DemandStatus.values();
+    private static final List<DemandStatus> QUOTED = List.of(
+            DemandStatus.TECHNICIAN_APPROVED, DemandStatus.IN_PROGRESS, DemandStatus.DONE
+    );
+
+    private final LoadTestOptions options;
+    private final String passwordHash;
+    private final Map<AppRole, List<Long>> userIds = new EnumMap<>(AppRole.class);
+    private final Map<AppRole, List<String>> emails = new EnumMap<>(AppRole.class);
+
+    private long demandBase;
+    private long articleBase;
+    private long quoteBase;
+    private long commentBase;
+    private long quoteCount;
+
+    DataGenerator(LoadTestOptions options, String passwordHash) {
+        this.options = options;
+        this.passwordHash = passwordHash;
+    }
+
+    Map<AppRole, List<String>> emails() {
+        return emails;
+    }
+
+    void seed(Connection connection) throws Exception {
+        demandBase = maxId(connection, "demands");
+        articleBase = maxId(connection, "articles");
+        quoteBase = maxId(connection, "quotes");
+        commentBase = maxId(connection, "comments");
+
+        insertUsers(connection);
+        if (options.demands() == 0) return;
+
+        copy(connection, "copy demands (id, title, description, status, created_by_id, created_at, attached_file) from stdin",
+                options.demands(), this::writeDemand);
+        copy(connection, "copy articles (id, name, description, price, quantity, demand_id) from stdin",
+                options.demands(), this::writeArticles);
+        copy(connection, "copy comments (id, created_by_id, content, created_at, type, demand_id, quote_id) from stdin",
+                options.demands(), this::writeComments);
+        copy(connection, "copy quotes (id, created_by_id, created_at, total_amount, status, demand_id, bon_command) from stdin",
+                options.demands(), this::writeQuote);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze");
+        }
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        long id = maxId(connection, "users");
+        String run = Long.toString(options.seed(), 36) + "-" + Long.toString(id, 36);
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into users (id, first_name, last_name, email, password, created_at, role) values (?, ?, ?, ?, ?, ?, ?)")) {
+            for (AppRole role : AppRole.values()) {
+                List<Long> ids = new ArrayList<>();
+                List<String> roleEmails = new ArrayList<>();
+                for (int i = 0; i < options.usersPerRole(); i++) {
+                    String email = role.name().toLowerCase() + i + "-" + run + "@loadtest.local";
+                    insert.setLong(1, ++id);
+                    insert.setString(2, role.name().toLowerCase());
+                    insert.setString(3, "user" + i);
+                    insert.setString(4, email);
+                    insert.setString(5, passwordHash);
+                    insert.setTimestamp(6, Timestamp.from(EPOCH));
+                    insert.setString(7, role.name());
+                    insert.addBatch();
+                    ids.add(id);
+                    roleEmails.add(email);
+                }
+                userIds.put(role, ids);
+                emails.put(role, roleEmails);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private void writeDemand(long index, StringBuilder out) {
+        SplittableRandom random = random(index);
+        DemandStatus status = DEMAND_STATUSES[random.nextInt(DEMAND_STATUSES.length)];
+        long creator = pick(random, random.nextBoolean() ? AppRole.AGENT : AppRole.RESPONSIBLE);
+
+        row(out, demandBase + index + 1, "demand " + index, "generated demand " + index, status,
+                creator, createdAt(random), null);
+    }
+
+    private void writeArticles(long index, StringBuilder out) {
+        SplittableRandom random = random(index).split();
+        long firstId = articleBase + index * options.articlesPerDemand();
+        for (int i = 0; i < options.articlesPerDemand(); i++) {
+            row(out, firstId + i + 1, "article " + i, "generated article", 5 + random.nextInt(5000) / 100.0,
+                    1 + random.nextInt(20), demandBase + index + 1);
+        }
+    }
+
+    private void writeComments(long index, StringBuilder out) {
+        SplittableRandom random = random(index).split().split();
+        long firstId = commentBase + index * options.commentsPerDemand();
+        for (int i = 0; i < options.commentsPerDemand(); i++) {
+            AppRole author = random.nextBoolean() ? AppRole.RESPONSIBLE : AppRole.TECHNICIAN;
+            row(out, firstId + i + 1, pick(random, author), "generated comment " + i, createdAt(random),
+                    random.nextInt(CommentType.values().length), demandBase + index + 1, null);
+        }
+    }
+
+    private void writeQuote(long index, StringBuilder out) {
+        SplittableRandom random = random(index);
+        DemandStatus status = DEMAND_STATUSES[random.nextInt(DEMAND_STATUSES.length)];
+        if (!QUOTED.contains(status)) return;
+
+        SplittableRandom quoteRandom = random.split().split().split();
+        if (quoteRandom.nextDouble() >= options.quoteRatio()) return;
+
+        QuoteStatus quoteStatus = switch (status) {
+            case DONE -> QuoteStatus.DONE;
+            case IN_PROGRESS -> QuoteStatus.APPROVED;
+            default -> QuoteStatus.CREATED;
+        };
+        row(out, quoteBase + ++quoteCount, pick(quoteRandom, AppRole.PROVIDER), createdAt(quoteRandom),
+                100 + quoteRandom.nextInt(1_000_000) / 100.0, quoteStatus, demandBase + index + 1, null);
+    }
+
+    private void copy(Connection connection, String sql, long rows, RowWriter writer) throws SQLException {
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        StringBuilder buffer = new StringBuilder(COPY_BUFFER + 4096);
+        try {
+            for (long index = 0; index < rows; index++) {
+                writer.write(index, buffer);
+                if (buffer.length() >= COPY_BUFFER) flush(copy, buffer);
+            }
+            flush(copy, buffer);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) copy.cancelCopy();
+        }
+    }
+
+    private static void flush(CopyIn copy, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) return;
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void row(StringBuilder out, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.append('\t');
+            out.append(values[i] == null ? "\\N" : values[i]);
+        }
+        out.append('\n');
+    }
+
+    private SplittableRandom random(long index) {
+        return new SplittableRandom(options.seed() * 0x9E3779B97F4A7C15L + index);
+    }
+
+    private long pick(SplittableRandom random, AppRole role) {
+        List<Long> ids = userIds.get(role);
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static Instant createdAt(SplittableRandom random) {
+        return EPOCH.plusSeconds(random.nextLong(HISTORY_SECONDS));
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(long index, StringBuilder out);
+    }
+}
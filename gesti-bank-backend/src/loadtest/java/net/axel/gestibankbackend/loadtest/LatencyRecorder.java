@@ -0,0 +1,76 @@
+package net.axel.gestibankbackend.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps every latency sample per endpoint so percentiles are exact; a few minutes at a few
+ * hundred requests per second fits easily in memory.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+    private volatile long startedAt = System.nanoTime();
+
+    void record(String endpoint, long nanos, boolean success) {
+        endpoints.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, success);
+    }
+
+    void reset() {
+        endpoints.clear();
+        startedAt = System.nanoTime();
+    }
+
+    void report(PrintStream out) {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        long total = 0;
+
+        out.printf("%-32s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(endpoints).entrySet()) {
+            Samples samples = entry.getValue();
+            long[] sorted = samples.sorted();
+            total += sorted.length;
+            out.printf("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, samples.errors(), sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)), millis(percentile(sorted, 1.0)));
+        }
+        out.printf("%-32s %9d %7s %9.1f%n", "total", total, "", total / seconds);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos, boolean success) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = nanos;
+            if (!success) errors++;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package net.axel.gestibankbackend.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, given as {@code key=value} arguments. Without {@code jdbc-url} a
+ * throwaway Postgres container is started.
+ */
+record LoadTestOptions(
+        String jdbcUrl,
+        String username,
+        String password,
+        int usersPerRole,
+        long demands,
+        int articlesPerDemand,
+        int commentsPerDemand,
+        double quoteRatio,
+        long seed,
+        int rps,
+        Duration warmup,
+        Duration duration
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        return new LoadTestOptions(
+                values.get("jdbc-url"),
+                values.getOrDefault("username", "loadtest"),
+                values.getOrDefault("password", "loadtest"),
+                Integer.parseInt(values.getOrDefault("users-per-role", "20")),
+                Long.parseLong(values.getOrDefault("demands", "100000")),
+                Integer.parseInt(values.getOrDefault("articles-per-demand", "10")),
+                Integer.parseInt(values.getOrDefault("comments-per-demand", "2")),
+                Double.parseDouble(values.getOrDefault("quote-ratio", "0.5")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("rps", "50")),
+                Duration.parse(values.getOrDefault("warmup", "PT30S")),
+                Duration.parse(values.getOrDefault("duration", "PT2M"))
+        );
+    }
+}
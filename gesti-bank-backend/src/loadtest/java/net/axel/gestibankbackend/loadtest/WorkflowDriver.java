@@ -0,0 +1,182 @@
+package net.axel.gestibankbackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.security.web.AuthController;
+import net.axel.gestibankbackend.web.DemandController;
+import net.axel.gestibankbackend.web.QuoteController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Replays the demand workflow over HTTP: agent creates, responsible and technician validate,
+ * provider quotes, technician approves the quote, manager closes it, then the agent lists
+ * demands. Workflows are started on a fixed schedule whatever the response times (open
+ * model), so a slow server shows up as latency instead of a lower request rate.
+ */
+final class WorkflowDriver {
+
+    static final int REQUESTS_PER_WORKFLOW = 7;
+
+    private static final String DEMANDS = "/" + DemandController.CONTROLLER_PATH;
+    private static final String QUOTES = "/" + QuoteController.CONTROLLER_PATH;
+    private static final int ARTICLES = 3;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<AppRole, List<String>> tokens = new EnumMap<>(AppRole.class);
+    private final URI baseUri;
+    private final LatencyRecorder recorder;
+
+    WorkflowDriver(URI baseUri, LatencyRecorder recorder) {
+        this.baseUri = baseUri;
+        this.recorder = recorder;
+    }
+
+    void login(Map<AppRole, List<String>> emails) {
+        emails.forEach((role, roleEmails) -> {
+            List<String> roleTokens = new ArrayList<>();
+            for (String email : roleEmails) {
+                JsonNode response = send("POST /auth/login", HttpRequest.newBuilder(uri("/" + AuthController.CONTROLLER_PATH + "/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(json(Map.of("email", email, "password", DataGenerator.PASSWORD))));
+                roleTokens.add(response.get("token").asText());
+            }
+            tokens.put(role, roleTokens);
+        });
+    }
+
+    void run(int rps, Duration warmup, Duration duration) throws InterruptedException {
+        long period = Math.max(1, TimeUnit.SECONDS.toNanos(1) * REQUESTS_PER_WORKFLOW / rps);
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+             ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor()) {
+            ticker.scheduleAtFixedRate(() -> workers.execute(this::workflow), 0, period, TimeUnit.NANOSECONDS);
+            Thread.sleep(warmup);
+            recorder.reset();
+            Thread.sleep(duration);
+            ticker.shutdownNow();
+        }
+    }
+
+    private void workflow() {
+        try {
+            long demandId = send("POST /demands", authorized(DEMANDS, AppRole.AGENT)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(form(demandForm()))).get("id").asLong();
+
+            send("POST /demands/validate", authorized(DEMANDS + "/validate", AppRole.RESPONSIBLE)
+                    .header("Content-Type", "application/json")
+                    .POST(json(validation("demandStatus", "demandId", demandId))));
+            send("POST /demands/validate", authorized(DEMANDS + "/validate", AppRole.TECHNICIAN)
+                    .header("Content-Type", "application/json")
+                    .POST(json(validation("demandStatus", "demandId", demandId))));
+
+            long quoteId = send("POST /quotes", authorized(QUOTES, AppRole.PROVIDER)
+                    .header("Content-Type", "application/json")
+                    .POST(json(Map.of("totalAmount", 1500.0, "demandId", demandId)))).get("id").asLong();
+            send("POST /quotes/validate", authorized(QUOTES + "/validate", AppRole.TECHNICIAN)
+                    .header("Content-Type", "application/json")
+                    .POST(json(validation("quoteStatus", "quoteId", quoteId))));
+            send("PUT /quotes/manage", authorized(QUOTES + "/manage", AppRole.MANAGER)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .PUT(form(Map.of("quoteId", quoteId))));
+
+            send("GET /demands?limit=20", authorized(DEMANDS + "?limit=20", AppRole.AGENT).GET());
+        } catch (StepFailedException e) {
+            // already recorded as an error, the rest of this workflow depends on the failed step
+        }
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            boolean success = response.statusCode() / 100 == 2;
+            recorder.record(endpoint, System.nanoTime() - start, success);
+            if (!success) throw new StepFailedException(endpoint + " returned " + response.statusCode());
+
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            throw new StepFailedException(endpoint + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException(endpoint + " interrupted");
+        }
+    }
+
+    private HttpRequest.Builder authorized(String path, AppRole role) {
+        List<String> roleTokens = tokens.get(role);
+        String token = roleTokens.get(ThreadLocalRandom.current().nextInt(roleTokens.size()));
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    private static Map<String, Object> demandForm() {
+        Map<String, Object> form = new LinkedHashMap<>();
+        form.put("title", "load test demand");
+        form.put("description", "generated by the workflow driver");
+        for (int i = 0; i < ARTICLES; i++) {
+            form.put("articles[" + i + "].name", "article " + i);
+            form.put("articles[" + i + "].description", "generated article");
+            form.put("articles[" + i + "].quantity", i + 1);
+        }
+        return form;
+    }
+
+    private static Map<String, Object> validation(String statusField, String ownerField, long ownerId) {
+        return Map.of(
+                statusField, "APPROVED",
+                "comment", Map.of("content", "approved by load test", "type", "APPROVED", ownerField, ownerId)
+        );
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HttpRequest.BodyPublisher form(Map<String, Object> fields) {
+        return HttpRequest.BodyPublishers.ofString(fields.entrySet().stream()
+                .map(field -> URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(String.valueOf(field.getValue()), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&")));
+    }
+
+    private static final class StepFailedException extends RuntimeException {
+
+        StepFailedException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -6,13 +6,11 @@ import net.axel.gestibankbackend.repository.UserRepository;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-
 @SpringBootApplication
+@EnableScheduling
 public class GestiBankBackendApplication {
 
     public static void main(String[] args) {
@@ -21,8 +19,8 @@ public class GestiBankBackendApplication {
          UserRepository userRepository = context.getBean(UserRepository.class);
          PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
          if (!userRepository.existsByRole(AppRole.ADMIN)) {
-             AppUser admin = new AppUser(null, "admin", "admin", "admin@chaabi.com", passwordEncoder.encode("12345678"),
-                     Instant.now(), AppRole.ADMIN, new ArrayList<>(), new ArrayList<>());
+             AppUser admin = AppUser.register("admin", "admin", "admin@chaabi.com", passwordEncoder.encode("12345678"),
+                     AppRole.ADMIN);
 
              userRepository.save(admin);
          }
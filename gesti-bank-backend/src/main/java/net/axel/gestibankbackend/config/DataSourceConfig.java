@@ -0,0 +1,100 @@
+package net.axel.gestibankbackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts every connection pool behind a {@link ConnectionLimitingDataSource} sized by
+ * {@code app.datasource.max-concurrent-connections}, 0 turns the limit off.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    static BeanPostProcessor connectionLimiter(Environment environment, ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)
+                        || bean instanceof ConnectionLimitingDataSource
+                        || bean instanceof LazyConnectionDataSourceProxy) return bean;
+
+                Binder binder = Binder.get(environment);
+                int maxConcurrent = binder.bind("app.datasource.max-concurrent-connections", Integer.class).orElse(0);
+                if (maxConcurrent <= 0) return bean;
+
+                Duration timeout = binder.bind("app.datasource.acquire-timeout", Duration.class).orElse(Duration.ofSeconds(30));
+                ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(dataSource, maxConcurrent, timeout);
+                registry.ifAvailable(meters -> {
+                    Gauge.builder("db.connections.limiter.available", limited, ConnectionLimitingDataSource::getAvailablePermits)
+                            .tag("name", beanName)
+                            .register(meters);
+                    Gauge.builder("db.connections.limiter.waiting", limited, ConnectionLimitingDataSource::getWaitingThreads)
+                            .tag("name", beanName)
+                            .register(meters);
+                });
+                return limited;
+            }
+        };
+    }
+
+    /**
+     * Read replica, enabled by {@code app.datasource.replica.url}. Transactions marked read-only
+     * run on the replica pool, everything else, including work outside a transaction, stays on
+     * the primary. The routing proxy only fetches a physical connection on the first statement,
+     * once the transaction has flagged it read-only.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty("app.datasource.replica.url")
+    static class ReplicaRouting {
+
+        @Bean
+        DataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+            return pool(properties.initializeDataSourceBuilder(), "primary", "spring.datasource.hikari", environment);
+        }
+
+        @Bean
+        DataSource replicaDataSource(DataSourceProperties properties, Environment environment) {
+            Binder binder = Binder.get(environment);
+            DataSourceBuilder<?> builder = DataSourceBuilder.create()
+                    .url(binder.bind("app.datasource.replica.url", String.class).get())
+                    .username(binder.bind("app.datasource.replica.username", String.class).orElse(properties.determineUsername()))
+                    .password(binder.bind("app.datasource.replica.password", String.class).orElse(properties.determinePassword()));
+            return pool(builder, "replica", "app.datasource.replica.hikari", environment);
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                              @Qualifier("replicaDataSource") DataSource replica) {
+            LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+            routing.setReadOnlyDataSource(replica);
+            return routing;
+        }
+
+        private static DataSource pool(DataSourceBuilder<?> builder, String name, String prefix, Environment environment) {
+            HikariDataSource pool = builder.type(HikariDataSource.class).build();
+            pool.setPoolName(name);
+            if ("replica".equals(name)) pool.setReadOnly(true);
+            Binder.get(environment).bind(prefix, Bindable.ofInstance(pool));
+            return pool;
+        }
+    }
+}
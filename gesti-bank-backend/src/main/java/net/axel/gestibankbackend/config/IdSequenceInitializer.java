@@ -0,0 +1,41 @@
+package net.axel.gestibankbackend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ids come from pooled sequences (allocation size 50) instead of identity columns. A database
+ * filled while ids were identity based, or by a bulk load, has sequences behind its data, so
+ * before the application serves requests every sequence that is behind its table is moved
+ * past the highest id. A sequence ahead of its data is never touched.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final List<String> TABLES = List.of("users", "demands", "articles", "quotes", "comments");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        if (Boolean.TRUE.equals(postgres)) align();
+    }
+
+    public void align() {
+        for (String table : TABLES) {
+            jdbcTemplate.queryForList("""
+                    select setval('%1$s_seq', (select max(id) from %1$s) + %2$d)
+                    where (select last_value from %1$s_seq) < (select coalesce(max(id), 0) from %1$s)
+                    """.formatted(table, ALLOCATION_SIZE));
+        }
+    }
+}
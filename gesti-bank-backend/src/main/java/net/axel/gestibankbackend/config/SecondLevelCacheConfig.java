@@ -0,0 +1,68 @@
+package net.axel.gestibankbackend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache on Caffeine through JCache. Every region named in an entity
+ * {@code @Cache} must be listed here, Hibernate refuses to start on an unknown one. Sizes and
+ * time to live come from {@code app.cache.regions.<region>}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    static final List<String> REGIONS = List.of("users", "articles", "comments", "demand-articles", "demand-comments");
+
+    @Bean(destroyMethod = "close")
+    CacheManager secondLevelCacheManager(Environment environment) {
+        // One manager per context, two live contexts must never share cached rows
+        CacheManager manager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("second-level-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        Binder binder = Binder.get(environment);
+        for (String region : REGIONS) {
+            String prefix = "app.cache.regions." + region;
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(binder.bind(prefix + ".max-size", Long.class).orElse(10_000L)));
+            configuration.setExpireAfterWrite(OptionalLong.of(binder.bind(prefix + ".ttl", Duration.class).orElse(Duration.ofMinutes(10)).toNanos()));
+            configuration.setStatisticsEnabled(true);
+            manager.createCache(region, configuration);
+        }
+        return manager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCache(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(CacheSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Children are attached through their many-to-one side, which alone doesn't touch the cached collection
+            properties.put(CacheSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+
+    @Bean
+    MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> REGIONS.forEach(region ->
+                JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(region), Tags.of("layer", "hibernate")));
+    }
+}
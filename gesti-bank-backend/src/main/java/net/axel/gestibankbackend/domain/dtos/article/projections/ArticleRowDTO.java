@@ -0,0 +1,11 @@
+package net.axel.gestibankbackend.domain.dtos.article.projections;
+
+public record ArticleRowDTO(
+        Long demandId,
+        Long id,
+        String name,
+        String description,
+        Double price,
+        Integer quantity
+) {
+}
@@ -0,0 +1,14 @@
+package net.axel.gestibankbackend.domain.dtos.comment.projections;
+
+import net.axel.gestibankbackend.domain.enums.CommentType;
+
+import java.time.Instant;
+
+public record CommentRowDTO(
+        Long ownerId,
+        Long id,
+        String content,
+        Instant createdAt,
+        CommentType type
+) {
+}
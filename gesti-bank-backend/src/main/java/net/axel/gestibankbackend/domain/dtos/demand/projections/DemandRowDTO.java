@@ -0,0 +1,24 @@
+package net.axel.gestibankbackend.domain.dtos.demand.projections;
+
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+
+import java.time.Instant;
+
+public record DemandRowDTO(
+        Long id,
+        String title,
+        String description,
+        Instant createdAt,
+        String attachedFile,
+        AttachmentStatus attachmentStatus,
+        DemandStatus status,
+        Long creatorId,
+        String creatorFirstName,
+        String creatorLastName,
+        String creatorEmail,
+        Instant creatorCreatedAt,
+        AppRole creatorRole
+) {
+}
@@ -0,0 +1,12 @@
+package net.axel.gestibankbackend.domain.dtos.demand.requests;
+
+import net.axel.gestibankbackend.domain.dtos.article.requests.ArticleRequestDTO;
+
+import java.util.List;
+
+public record DemandImportDTO(
+        String title,
+        String description,
+        List<ArticleRequestDTO> articles
+) {
+}
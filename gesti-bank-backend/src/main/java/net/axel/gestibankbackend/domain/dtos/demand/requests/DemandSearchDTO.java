@@ -0,0 +1,45 @@
+package net.axel.gestibankbackend.domain.dtos.demand.requests;
+
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Search terms in web search syntax ({@code "exact phrase"}, {@code or}, {@code -excluded})
+ * plus optional filters, a missing filter matches everything. Like exports, dates are whole
+ * UTC days and {@code to} includes its own day.
+ */
+public record DemandSearchDTO(
+        String query,
+        DemandStatus status,
+        String creator,
+        Instant from,
+        Instant to,
+        QuoteStatus quoteStatus,
+        int page,
+        int size
+) {
+
+    public static final int MAX_SIZE = 100;
+
+    public static DemandSearchDTO of(String query, DemandStatus status, String creator, LocalDate from, LocalDate to,
+                                     QuoteStatus quoteStatus, int page, int size) {
+        if (query == null || query.isBlank()) throw new IllegalArgumentException("Search query must not be blank");
+        if (page < 0) throw new IllegalArgumentException("Page must not be negative");
+        if (size < 1 || size > MAX_SIZE) throw new IllegalArgumentException("Size must be between 1 and " + MAX_SIZE);
+
+        return new DemandSearchDTO(
+                query,
+                status,
+                creator,
+                from == null ? null : from.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                to == null ? null : to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                quoteStatus,
+                page,
+                size
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package net.axel.gestibankbackend.domain.dtos.demand.responses;
+
+import net.axel.gestibankbackend.domain.enums.ImportStatus;
+
+public record DemandImportResultDTO(
+        long line,
+        ImportStatus status,
+        Long demandId,
+        String error
+) {
+}
@@ -4,6 +4,7 @@ import net.axel.gestibankbackend.domain.dtos.article.ArticleEmbeddedDTO;
 import net.axel.gestibankbackend.domain.dtos.comment.CommentEmbeddedDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.QuoteEmbeddedDTO;
 import net.axel.gestibankbackend.domain.dtos.user.UserEmbeddedDTO;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
 import net.axel.gestibankbackend.domain.enums.DemandStatus;
 
 import java.time.Instant;
@@ -15,6 +16,7 @@ public record DemandResponseDTO(
         String description,
         Instant createdAt,
         String attachedFile,
+        AttachmentStatus attachmentStatus,
         List<ArticleEmbeddedDTO> articles,
         List<QuoteEmbeddedDTO> quotes,
         UserEmbeddedDTO createdBy,
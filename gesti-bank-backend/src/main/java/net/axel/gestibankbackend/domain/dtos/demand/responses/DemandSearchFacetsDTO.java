@@ -0,0 +1,17 @@
+package net.axel.gestibankbackend.domain.dtos.demand.responses;
+
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+
+import java.util.Map;
+
+/**
+ * Number of matching demands per value. {@code creator} only holds the most frequent creators,
+ * a demand counts once in every status its quotes are in.
+ */
+public record DemandSearchFacetsDTO(
+        Map<DemandStatus, Long> status,
+        Map<String, Long> creator,
+        Map<QuoteStatus, Long> quoteStatus
+) {
+}
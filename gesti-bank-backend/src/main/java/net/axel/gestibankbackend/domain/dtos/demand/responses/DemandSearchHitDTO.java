@@ -0,0 +1,16 @@
+package net.axel.gestibankbackend.domain.dtos.demand.responses;
+
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+
+import java.time.Instant;
+
+public record DemandSearchHitDTO(
+        Long id,
+        String title,
+        DemandStatus status,
+        Instant createdAt,
+        String creatorEmail,
+        double rank,
+        String headline
+) {
+}
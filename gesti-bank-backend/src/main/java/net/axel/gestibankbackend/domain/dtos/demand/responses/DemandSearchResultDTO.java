@@ -0,0 +1,10 @@
+package net.axel.gestibankbackend.domain.dtos.demand.responses;
+
+import java.util.List;
+
+public record DemandSearchResultDTO(
+        long total,
+        List<DemandSearchHitDTO> hits,
+        DemandSearchFacetsDTO facets
+) {
+}
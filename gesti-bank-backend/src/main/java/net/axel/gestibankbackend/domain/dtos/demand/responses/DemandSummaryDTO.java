@@ -0,0 +1,19 @@
+package net.axel.gestibankbackend.domain.dtos.demand.responses;
+
+import net.axel.gestibankbackend.domain.dtos.user.UserEmbeddedDTO;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+
+import java.time.Instant;
+
+/**
+ * What a demand list renders, served for {@code view=summary}: no articles, quotes or comments,
+ * so none of them is read from the database.
+ */
+public record DemandSummaryDTO(
+        Long id,
+        String title,
+        DemandStatus status,
+        Instant createdAt,
+        UserEmbeddedDTO createdBy
+) {
+}
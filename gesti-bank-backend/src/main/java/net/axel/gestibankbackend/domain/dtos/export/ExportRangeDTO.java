@@ -0,0 +1,21 @@
+package net.axel.gestibankbackend.domain.dtos.export;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Creation-date window of an export, {@code from} inclusive and {@code to} exclusive. Missing
+ * bounds are open ended; dates are whole UTC days and {@code to} includes its own day.
+ */
+public record ExportRangeDTO(Instant from, Instant to) {
+
+    private static final Instant END_OF_TIME = Instant.parse("9999-12-31T00:00:00Z");
+
+    public static ExportRangeDTO of(LocalDate from, LocalDate to) {
+        return new ExportRangeDTO(
+                from == null ? Instant.EPOCH : from.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                to == null ? END_OF_TIME : to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()
+        );
+    }
+}
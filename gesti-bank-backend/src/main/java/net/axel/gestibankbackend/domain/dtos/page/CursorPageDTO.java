@@ -0,0 +1,51 @@
+package net.axel.gestibankbackend.domain.dtos.page;
+
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageDTO<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+    public static final int MAX_LIMIT = 100;
+
+    public static Limit fetchLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        return Limit.of(limit + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}: the extra row only tells
+     * whether another page exists, it is dropped and the last kept id becomes the cursor.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> fetched, int limit, Function<T, Long> idExtractor) {
+        if (fetched.size() <= limit) return new CursorPageDTO<>(fetched, null);
+
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPageDTO<>(items, encode(idExtractor.apply(items.get(limit - 1))));
+    }
+
+    public <R> CursorPageDTO<R> map(Function<List<T>, List<R>> mapper) {
+        return new CursorPageDTO<>(mapper.apply(items), nextCursor);
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return Long.MAX_VALUE;
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package net.axel.gestibankbackend.domain.dtos.quote.projections;
+
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+
+import java.time.Instant;
+
+public record QuoteRowDTO(
+        Long id,
+        Double totalAmount,
+        QuoteStatus status,
+        String bonCommand,
+        AttachmentStatus bonCommandStatus,
+        Long creatorId,
+        String creatorFirstName,
+        String creatorLastName,
+        String creatorEmail,
+        Instant creatorCreatedAt,
+        AppRole creatorRole,
+        Long demandId,
+        String demandTitle,
+        String demandDescription,
+        DemandStatus demandStatus,
+        Instant demandCreatedAt,
+        String demandAttachedFile
+) {
+}
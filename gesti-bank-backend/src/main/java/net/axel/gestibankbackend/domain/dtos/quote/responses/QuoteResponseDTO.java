@@ -3,6 +3,7 @@ package net.axel.gestibankbackend.domain.dtos.quote.responses;
 import net.axel.gestibankbackend.domain.dtos.comment.CommentEmbeddedDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.DemandEmbeddedDTO;
 import net.axel.gestibankbackend.domain.dtos.user.UserEmbeddedDTO;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
 import net.axel.gestibankbackend.domain.enums.QuoteStatus;
 
 import java.util.List;
@@ -14,6 +15,7 @@ public record QuoteResponseDTO(
         QuoteStatus status,
         DemandEmbeddedDTO demand,
         List<CommentEmbeddedDTO> comments,
-        String bonCommand
+        String bonCommand,
+        AttachmentStatus bonCommandStatus
 ) {
 }
@@ -0,0 +1,18 @@
+package net.axel.gestibankbackend.domain.dtos.quote.responses;
+
+import net.axel.gestibankbackend.domain.dtos.user.UserEmbeddedDTO;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+
+/**
+ * What a quote list renders, served for {@code view=summary}: the quoted demand is reduced to
+ * its id and title and comments are left out, so they are never read from the database.
+ */
+public record QuoteSummaryDTO(
+        Long id,
+        UserEmbeddedDTO createdBy,
+        Double totalAmount,
+        QuoteStatus status,
+        Long demandId,
+        String demandTitle
+) {
+}
@@ -0,0 +1,24 @@
+package net.axel.gestibankbackend.domain.dtos.user.responses;
+
+import net.axel.gestibankbackend.domain.enums.AppRole;
+
+import java.time.Instant;
+
+public record UserDirectoryDTO(
+        Long id,
+
+        String firstName,
+
+        String lastName,
+
+        String email,
+
+        AppRole role,
+
+        Instant createdAt,
+
+        Long demandCount,
+
+        Long quoteCount
+) {
+}
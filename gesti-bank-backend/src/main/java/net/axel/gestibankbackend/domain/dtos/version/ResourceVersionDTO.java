@@ -0,0 +1,10 @@
+package net.axel.gestibankbackend.domain.dtos.version;
+
+import java.time.Instant;
+
+/**
+ * Validators of a resource read without loading it: {@code etag} joins the versions of every
+ * entity its representation renders, {@code lastModified} is the latest of their update times.
+ */
+public record ResourceVersionDTO(String etag, Instant lastModified) {
+}
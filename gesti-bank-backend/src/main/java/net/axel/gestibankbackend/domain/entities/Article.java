@@ -6,9 +6,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "articles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "articles")
 
 @Getter
 @Setter
@@ -18,7 +21,8 @@ import lombok.experimental.Accessors;
 public class Article {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "articles_seq")
+    @SequenceGenerator(name = "articles_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -29,7 +33,7 @@ public class Article {
 
     private Integer quantity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Demand demand;
 
     public static Article createArticle(String name, String description, int quantity, Demand demand) {
@@ -6,7 +6,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
 import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -23,7 +27,8 @@ import java.util.List;
 public class Demand {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "demands_seq")
+    @SequenceGenerator(name = "demands_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -38,17 +43,28 @@ public class Demand {
 
     private Instant createdAt;
 
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
     @OneToMany(mappedBy = "demand", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "demand-articles")
     private List<Article> articles = new ArrayList<>();
 
     @OneToMany(mappedBy = "demand", cascade = CascadeType.ALL)
     private List<Quote> quotes = new ArrayList<>();
 
     @OneToMany(mappedBy = "demand", cascade = CascadeType.ALL)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "demand-comments")
     private List<Comment> comments = new ArrayList<>();
 
     private String attachedFile;
 
+    @Enumerated(EnumType.STRING)
+    private AttachmentStatus attachmentStatus;
+
     public static Demand createDemand(String title, String description, String fileUrl, AppUser creator) {
         Demand demand = new Demand();
         return demand.setTitle(title)
@@ -58,4 +74,13 @@ public class Demand {
                 .setCreatedBy(creator)
                 .setAttachedFile(fileUrl);
     }
+
+    /**
+     * Marks the demand modified when only its articles or comments changed, so its version and
+     * the ETag derived from it move with them.
+     */
+    public Demand touch() {
+        this.updatedAt = Instant.now();
+        return this;
+    }
 }
@@ -6,7 +6,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
 import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -23,7 +25,8 @@ import java.util.List;
 public class Quote {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quotes_seq")
+    @SequenceGenerator(name = "quotes_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -31,6 +34,12 @@ public class Quote {
 
     private Instant createdAt;
 
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
     private Double totalAmount;
 
     @Enumerated(EnumType.STRING)
@@ -43,6 +52,9 @@ public class Quote {
     private List<Comment> comments = new ArrayList<>();
 
     private String bonCommand;
+
+    @Enumerated(EnumType.STRING)
+    private AttachmentStatus bonCommandStatus;
     
     public static Quote createQuote(AppUser creator, Demand demand, Double totalAmount) {
         Quote quote = new Quote();
@@ -52,4 +64,9 @@ public class Quote {
                 .setStatus(QuoteStatus.CREATED)
                 .setDemand(demand);
     }
+
+    public Quote touch() {
+        this.updatedAt = Instant.now();
+        return this;
+    }
 }
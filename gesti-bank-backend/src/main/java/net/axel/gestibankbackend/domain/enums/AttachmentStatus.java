@@ -0,0 +1,7 @@
+package net.axel.gestibankbackend.domain.enums;
+
+public enum AttachmentStatus {
+    PENDING,
+    UPLOADED,
+    FAILED
+}
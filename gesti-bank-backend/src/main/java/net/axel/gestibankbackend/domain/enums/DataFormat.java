@@ -0,0 +1,6 @@
+package net.axel.gestibankbackend.domain.enums;
+
+public enum DataFormat {
+    CSV,
+    NDJSON
+}
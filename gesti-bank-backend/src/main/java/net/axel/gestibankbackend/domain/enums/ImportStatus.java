@@ -0,0 +1,7 @@
+package net.axel.gestibankbackend.domain.enums;
+
+public enum ImportStatus {
+    IMPORTED,
+    REJECTED,
+    FAILED
+}
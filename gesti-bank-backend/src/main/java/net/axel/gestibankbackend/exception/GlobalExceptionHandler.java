@@ -2,6 +2,8 @@ package net.axel.gestibankbackend.exception;
 
 import net.axel.gestibankbackend.exception.domains.BusinessException;
 import net.axel.gestibankbackend.exception.domains.ResourceNotFoundException;
+import net.axel.gestibankbackend.exception.domains.UploadCapacityExceededException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -63,6 +65,30 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(UploadCapacityExceededException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleUploadCapacityExceededException(UploadCapacityExceededException ex, WebRequest request) {
+        return new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                LocalDateTime.now(),
+                "Upload capacity exceeded",
+                request.getDescription(false),
+                ex.getMessage()
+        );
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        return new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                LocalDateTime.now(),
+                "Concurrent modification",
+                request.getDescription(false),
+                "The resource was modified by another request, reload it and retry"
+        );
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
@@ -0,0 +1,7 @@
+package net.axel.gestibankbackend.exception.domains;
+
+public class UploadCapacityExceededException extends FileUploadException {
+    public UploadCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,7 @@
 package net.axel.gestibankbackend.mapper;
 
 import net.axel.gestibankbackend.domain.dtos.comment.CommentEmbeddedDTO;
+import net.axel.gestibankbackend.domain.dtos.comment.projections.CommentRowDTO;
 import net.axel.gestibankbackend.domain.entities.Comment;
 import org.springframework.stereotype.Component;
 
@@ -17,4 +18,15 @@ public class CommentMapper {
                 comment.getType()
         );
     }
+
+    public CommentEmbeddedDTO mapRowToEmbedded(CommentRowDTO row) {
+        if (row == null) return null;
+
+        return new CommentEmbeddedDTO(
+                row.id(),
+                row.content(),
+                row.createdAt(),
+                row.type()
+        );
+    }
 }
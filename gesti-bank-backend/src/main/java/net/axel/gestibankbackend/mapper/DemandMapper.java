@@ -2,8 +2,12 @@ package net.axel.gestibankbackend.mapper;
 
 import lombok.RequiredArgsConstructor;
 import net.axel.gestibankbackend.domain.dtos.article.ArticleEmbeddedDTO;
+import net.axel.gestibankbackend.domain.dtos.article.projections.ArticleRowDTO;
+import net.axel.gestibankbackend.domain.dtos.comment.CommentEmbeddedDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.DemandEmbeddedDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandResponseDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSummaryDTO;
 import net.axel.gestibankbackend.domain.dtos.user.UserEmbeddedDTO;
 import net.axel.gestibankbackend.domain.entities.AppUser;
 import net.axel.gestibankbackend.domain.entities.Article;
@@ -11,6 +15,7 @@ import net.axel.gestibankbackend.domain.entities.Demand;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -27,6 +32,7 @@ public class DemandMapper {
                 demand.getDescription(),
                 demand.getCreatedAt(),
                 demand.getAttachedFile(),
+                demand.getAttachmentStatus(),
                 demand.getArticles().stream().map(this::mapArticleToEmbedded).toList(),
                 new ArrayList<>(),
                 mapUserToEmbedded(demand.getCreatedBy()),
@@ -35,6 +41,36 @@ public class DemandMapper {
         );
     }
 
+    public DemandResponseDTO toResponseDto(DemandRowDTO row, List<ArticleEmbeddedDTO> articles, List<CommentEmbeddedDTO> comments) {
+        if (row == null) return null;
+
+        return new DemandResponseDTO(
+                row.id(),
+                row.title(),
+                row.description(),
+                row.createdAt(),
+                row.attachedFile(),
+                row.attachmentStatus(),
+                articles,
+                new ArrayList<>(),
+                mapCreatorToEmbedded(row),
+                row.status(),
+                comments
+        );
+    }
+
+    public DemandSummaryDTO toSummaryDto(DemandRowDTO row) {
+        if (row == null) return null;
+
+        return new DemandSummaryDTO(
+                row.id(),
+                row.title(),
+                row.status(),
+                row.createdAt(),
+                mapCreatorToEmbedded(row)
+        );
+    }
+
     public DemandEmbeddedDTO toEmbeddedDto(Demand demand) {
         if (demand == null) return null;
         return new DemandEmbeddedDTO(
@@ -59,6 +95,18 @@ public class DemandMapper {
         );
     }
 
+    public UserEmbeddedDTO mapCreatorToEmbedded(DemandRowDTO row) {
+        if (row.creatorId() == null) return null;
+        return new UserEmbeddedDTO(
+                row.creatorId(),
+                row.creatorFirstName(),
+                row.creatorLastName(),
+                row.creatorEmail(),
+                row.creatorCreatedAt(),
+                row.creatorRole()
+        );
+    }
+
     public ArticleEmbeddedDTO mapArticleToEmbedded(Article article) {
         return new ArticleEmbeddedDTO(
                 article.getId(),
@@ -68,4 +116,14 @@ public class DemandMapper {
                 article.getQuantity()
         );
     }
+
+    public ArticleEmbeddedDTO mapArticleRowToEmbedded(ArticleRowDTO row) {
+        return new ArticleEmbeddedDTO(
+                row.id(),
+                row.name(),
+                row.description(),
+                row.price(),
+                row.quantity()
+        );
+    }
 }
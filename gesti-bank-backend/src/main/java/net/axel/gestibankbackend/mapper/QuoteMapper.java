@@ -1,13 +1,19 @@
 package net.axel.gestibankbackend.mapper;
 
 import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.dtos.comment.CommentEmbeddedDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.DemandEmbeddedDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.QuoteEmbeddedDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteResponseDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteSummaryDTO;
 import net.axel.gestibankbackend.domain.dtos.user.UserEmbeddedDTO;
 import net.axel.gestibankbackend.domain.entities.AppUser;
 import net.axel.gestibankbackend.domain.entities.Quote;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class QuoteMapper {
@@ -25,7 +31,36 @@ public class QuoteMapper {
                 quote.getStatus(),
                 demandMapper.toEmbeddedDto(quote.getDemand()),
                 quote.getComments().stream().map(commentMapper::mapToEmbedded).toList(),
-                quote.getBonCommand()
+                quote.getBonCommand(),
+                quote.getBonCommandStatus()
+        );
+    }
+
+    public QuoteResponseDTO mapToResponse(QuoteRowDTO row, List<CommentEmbeddedDTO> comments) {
+        if (row == null) return null;
+
+        return new QuoteResponseDTO(
+                row.id(),
+                mapCreatorToEmbedded(row),
+                row.totalAmount(),
+                row.status(),
+                mapDemandToEmbedded(row),
+                comments,
+                row.bonCommand(),
+                row.bonCommandStatus()
+        );
+    }
+
+    public QuoteSummaryDTO mapToSummary(QuoteRowDTO row) {
+        if (row == null) return null;
+
+        return new QuoteSummaryDTO(
+                row.id(),
+                mapCreatorToEmbedded(row),
+                row.totalAmount(),
+                row.status(),
+                row.demandId(),
+                row.demandTitle()
         );
     }
 
@@ -51,4 +86,28 @@ public class QuoteMapper {
                 user.getRole()
         );
     }
+
+    private UserEmbeddedDTO mapCreatorToEmbedded(QuoteRowDTO row) {
+        if (row.creatorId() == null) return null;
+        return new UserEmbeddedDTO(
+                row.creatorId(),
+                row.creatorFirstName(),
+                row.creatorLastName(),
+                row.creatorEmail(),
+                row.creatorCreatedAt(),
+                row.creatorRole()
+        );
+    }
+
+    private DemandEmbeddedDTO mapDemandToEmbedded(QuoteRowDTO row) {
+        if (row.demandId() == null) return null;
+        return new DemandEmbeddedDTO(
+                row.demandId(),
+                row.demandTitle(),
+                row.demandDescription(),
+                row.demandStatus(),
+                row.demandCreatedAt(),
+                row.demandAttachedFile()
+        );
+    }
 }
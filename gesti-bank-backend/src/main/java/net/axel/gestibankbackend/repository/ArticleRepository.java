@@ -1,7 +1,21 @@
 package net.axel.gestibankbackend.repository;
 
+import net.axel.gestibankbackend.domain.dtos.article.projections.ArticleRowDTO;
 import net.axel.gestibankbackend.domain.entities.Article;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ArticleRepository extends JpaRepository<Article, Long> {
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.article.projections.ArticleRowDTO(
+                a.demand.id, a.id, a.name, a.description, a.price, a.quantity)
+            from Article a
+            where a.demand.id in :demandIds
+            order by a.id
+            """)
+    List<ArticleRowDTO> findRowsByDemandIds(Collection<Long> demandIds);
 }
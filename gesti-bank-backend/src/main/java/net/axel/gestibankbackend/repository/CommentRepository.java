@@ -1,7 +1,30 @@
 package net.axel.gestibankbackend.repository;
 
+import net.axel.gestibankbackend.domain.dtos.comment.projections.CommentRowDTO;
 import net.axel.gestibankbackend.domain.entities.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.comment.projections.CommentRowDTO(
+                c.demand.id, c.id, c.content, c.createdAt, c.type)
+            from Comment c
+            where c.demand.id in :demandIds
+            order by c.id
+            """)
+    List<CommentRowDTO> findRowsByDemandIds(Collection<Long> demandIds);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.comment.projections.CommentRowDTO(
+                c.quote.id, c.id, c.content, c.createdAt, c.type)
+            from Comment c
+            where c.quote.id in :quoteIds
+            order by c.id
+            """)
+    List<CommentRowDTO> findRowsByQuoteIds(Collection<Long> quoteIds);
 }
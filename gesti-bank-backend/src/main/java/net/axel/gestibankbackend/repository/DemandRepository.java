@@ -1,13 +1,213 @@
 package net.axel.gestibankbackend.repository;
 
-import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
 import net.axel.gestibankbackend.domain.entities.Demand;
-import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DemandRepository extends JpaRepository<Demand, Long> {
 
-    int countByCreatedBy(AppUser user);
-    int countByCreatedByAndStatus(AppUser user, DemandStatus status);
-    int countByStatus(DemandStatus status);
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO(
+                d.id, d.title, d.description, d.createdAt, d.attachedFile, d.attachmentStatus, d.status,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role)
+            from Demand d left join d.createdBy u
+            """)
+    List<DemandRowDTO> findPageRows(Pageable pageable);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO(
+                d.id, d.title, d.description, d.createdAt, d.attachedFile, d.attachmentStatus, d.status,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role)
+            from Demand d left join d.createdBy u
+            where d.id < :cursor
+            order by d.id desc
+            """)
+    List<DemandRowDTO> findRowsBefore(Long cursor, Limit limit);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO(
+                d.id, d.title, d.description, d.createdAt, d.attachedFile, d.attachmentStatus, d.status,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role)
+            from Demand d left join d.createdBy u
+            where d.createdBy.id = :creatorId and d.id < :cursor
+            order by d.id desc
+            """)
+    List<DemandRowDTO> findRowsByCreatorBefore(Long creatorId, Long cursor, Limit limit);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO(
+                d.id, d.title, d.description, d.createdAt, d.attachedFile, d.attachmentStatus, d.status,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role)
+            from Demand d left join d.createdBy u
+            where d.id = :id
+            """)
+    Optional<DemandRowDTO> findRowById(Long id);
+
+    /**
+     * Inbox statuses are literals rather than parameters, so Postgres plans each query with the
+     * statistics of its own status and walks the (status, id) index for a quiet inbox instead of
+     * scanning the primary key backwards until it finds a page.
+     */
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO(
+                d.id, d.title, d.description, d.createdAt, d.attachedFile, d.attachmentStatus, d.status,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role)
+            from Demand d left join d.createdBy u
+            where d.status = net.axel.gestibankbackend.domain.enums.DemandStatus.CREATED and d.id < :cursor
+            order by d.id desc
+            """)
+    List<DemandRowDTO> findCreatedRowsBefore(Long cursor, Limit limit);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO(
+                d.id, d.title, d.description, d.createdAt, d.attachedFile, d.attachmentStatus, d.status,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role)
+            from Demand d left join d.createdBy u
+            where d.status = net.axel.gestibankbackend.domain.enums.DemandStatus.RESPONSIBLE_APPROVED and d.id < :cursor
+            order by d.id desc
+            """)
+    List<DemandRowDTO> findResponsibleApprovedRowsBefore(Long cursor, Limit limit);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO(
+                d.id, d.title, d.description, d.createdAt, d.attachedFile, d.attachmentStatus, d.status,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role)
+            from Demand d left join d.createdBy u
+            where d.status = net.axel.gestibankbackend.domain.enums.DemandStatus.TECHNICIAN_APPROVED and d.id < :cursor
+              and not exists (select 1 from Quote q where q.demand = d and q.createdBy.id = :providerId)
+            order by d.id desc
+            """)
+    List<DemandRowDTO> findTechnicianApprovedRowsWithoutQuoteFromBefore(Long providerId, Long cursor, Limit limit);
+
+    /**
+     * Forward-only cursor over the demands created in {@code [from, to)}. Must be consumed and
+     * closed inside a transaction, Postgres only honours the fetch size outside autocommit.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO(
+                d.id, d.title, d.description, d.createdAt, d.attachedFile, d.attachmentStatus, d.status,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role)
+            from Demand d left join d.createdBy u
+            where d.createdAt >= :from and d.createdAt < :to
+            order by d.id
+            """)
+    Stream<DemandRowDTO> streamRows(Instant from, Instant to);
+
+    int SEARCH_CREATOR_FACETS = 10;
+
+    /**
+     * Ranked page of the demands matching {@code query} with the facet counts of every match,
+     * rendered by Postgres as one JSON document so a search is a single round trip. The
+     * document reads as a {@code DemandSearchResultDTO}. Null filters are ignored; open date
+     * bounds must stay null rather than be widened to far dates, once prepared the statement
+     * runs a generic plan that would read the whole creation date index for them.
+     */
+    @Query(nativeQuery = true, value = """
+            with matches as (
+                select d.id, d.status, d.created_by_id,
+                       ts_rank_cd(d.search_vector, websearch_to_tsquery('simple', :query)) as rank
+                from demands d
+                where d.search_vector @@ websearch_to_tsquery('simple', :query)
+                  and (cast(:from as timestamptz) is null or d.created_at >= cast(:from as timestamptz))
+                  and (cast(:to as timestamptz) is null or d.created_at < cast(:to as timestamptz))
+                  and (cast(:status as varchar) is null or d.status = cast(:status as varchar))
+                  and (cast(:creator as varchar) is null
+                       or d.created_by_id = (select u.id from users u where u.email = cast(:creator as varchar)))
+                  and (cast(:quoteStatus as varchar) is null or exists (
+                       select 1 from quotes q where q.demand_id = d.id and q.status = cast(:quoteStatus as varchar)))
+            ),
+            page as (
+                select m.id, m.rank from matches m
+                order by m.rank desc, m.id desc
+                limit :size offset :offset
+            )
+            select cast(json_build_object(
+                'total', (select count(*) from matches),
+                'hits', coalesce((
+                    select json_agg(json_build_object(
+                        'id', d.id,
+                        'title', d.title,
+                        'status', d.status,
+                        'createdAt', d.created_at,
+                        'creatorEmail', u.email,
+                        'rank', p.rank,
+                        'headline', ts_headline('simple', concat_ws(' ', d.title, d.description),
+                                                websearch_to_tsquery('simple', :query))
+                    ) order by p.rank desc, p.id desc)
+                    from page p join demands d on d.id = p.id left join users u on u.id = d.created_by_id
+                ), cast('[]' as json)),
+                'facets', json_build_object(
+                    'status', coalesce((
+                        select json_object_agg(s.status, s.total)
+                        from (select m.status, count(*) as total from matches m group by m.status) s
+                    ), cast('{}' as json)),
+                    'creator', coalesce((
+                        select json_object_agg(u.email, c.total)
+                        from (select m.created_by_id, count(*) as total
+                              from matches m
+                              group by m.created_by_id order by total desc, m.created_by_id
+                              limit :creatorFacets) c
+                        join users u on u.id = c.created_by_id
+                    ), cast('{}' as json)),
+                    'quoteStatus', coalesce((
+                        select json_object_agg(s.status, s.total)
+                        from (select q.status, count(*) as total
+                              from matches m
+                              cross join lateral (
+                                  select distinct q.status from quotes q where q.demand_id = m.id
+                              ) q
+                              group by q.status) s
+                    ), cast('{}' as json))
+                )
+            ) as text)
+            """)
+    String search(String query, Instant from, Instant to, String status, String creator, String quoteStatus,
+                  int size, int offset, int creatorFacets);
+
+    /**
+     * Versioned, so clients holding the demand's ETag see the attachment change. The update time
+     * is the database's transaction time, upload workers call this in a transaction of its own.
+     */
+    @Modifying
+    @Query("""
+            update versioned Demand d
+            set d.attachedFile = :url, d.attachmentStatus = :status, d.updatedAt = instant
+            where d.id = :id
+            """)
+    int updateAttachment(Long id, String url, AttachmentStatus status);
+
+    /**
+     * A demand renders its creator and its quotes. Counting the quotes catches one created or
+     * deleted, summing their versions catches one updated, the way a profile's ETag is built.
+     */
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO(
+                concat(str(d.version),
+                       '.', str(coalesce(u.version, 0)),
+                       '.', str((select count(q) from Quote q where q.demand = d)),
+                       '.', str((select coalesce(sum(q.version), 0) from Quote q where q.demand = d))),
+                greatest(d.updatedAt,
+                         coalesce(u.updatedAt, d.updatedAt),
+                         coalesce((select max(q.updatedAt) from Quote q where q.demand = d), d.updatedAt)))
+            from Demand d left join d.createdBy u
+            where d.id = :id
+            """)
+    Optional<ResourceVersionDTO> findVersionById(Long id);
 }
@@ -1,12 +1,111 @@
 package net.axel.gestibankbackend.repository;
 
-import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
 import net.axel.gestibankbackend.domain.entities.Quote;
-import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface QuoteRepository extends JpaRepository<Quote, Long> {
 
-    int countByCreatedBy(AppUser user);
-    int countByCreatedByAndStatus(AppUser user, QuoteStatus status);
+    String EXPORT_FETCH_SIZE = "500";
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO(
+                q.id, q.totalAmount, q.status, q.bonCommand, q.bonCommandStatus,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role,
+                d.id, d.title, d.description, d.status, d.createdAt, d.attachedFile)
+            from Quote q left join q.createdBy u left join q.demand d
+            """)
+    List<QuoteRowDTO> findPageRows(Pageable pageable);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO(
+                q.id, q.totalAmount, q.status, q.bonCommand, q.bonCommandStatus,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role,
+                d.id, d.title, d.description, d.status, d.createdAt, d.attachedFile)
+            from Quote q left join q.createdBy u left join q.demand d
+            where q.id < :cursor
+            order by q.id desc
+            """)
+    List<QuoteRowDTO> findRowsBefore(Long cursor, Limit limit);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO(
+                q.id, q.totalAmount, q.status, q.bonCommand, q.bonCommandStatus,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role,
+                d.id, d.title, d.description, d.status, d.createdAt, d.attachedFile)
+            from Quote q left join q.createdBy u left join q.demand d
+            where q.createdBy.id = :creatorId and q.id < :cursor
+            order by q.id desc
+            """)
+    List<QuoteRowDTO> findRowsByCreatorBefore(Long creatorId, Long cursor, Limit limit);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO(
+                q.id, q.totalAmount, q.status, q.bonCommand, q.bonCommandStatus,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role,
+                d.id, d.title, d.description, d.status, d.createdAt, d.attachedFile)
+            from Quote q left join q.createdBy u left join q.demand d
+            where q.id = :id
+            """)
+    Optional<QuoteRowDTO> findRowById(Long id);
+
+    /**
+     * Status as a literal, see {@link DemandRepository#findCreatedRowsBefore}.
+     */
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO(
+                q.id, q.totalAmount, q.status, q.bonCommand, q.bonCommandStatus,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role,
+                d.id, d.title, d.description, d.status, d.createdAt, d.attachedFile)
+            from Quote q left join q.createdBy u left join q.demand d
+            where q.status = net.axel.gestibankbackend.domain.enums.QuoteStatus.APPROVED and q.id < :cursor
+            order by q.id desc
+            """)
+    List<QuoteRowDTO> findApprovedRowsBefore(Long cursor, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO(
+                q.id, q.totalAmount, q.status, q.bonCommand, q.bonCommandStatus,
+                u.id, u.firstName, u.lastName, u.email, u.createdAt, u.role,
+                d.id, d.title, d.description, d.status, d.createdAt, d.attachedFile)
+            from Quote q left join q.createdBy u left join q.demand d
+            where q.createdAt >= :from and q.createdAt < :to
+            order by q.id
+            """)
+    Stream<QuoteRowDTO> streamRows(Instant from, Instant to);
+
+    @Modifying
+    @Query("""
+            update versioned Quote q
+            set q.bonCommand = :url, q.bonCommandStatus = :status, q.updatedAt = instant
+            where q.id = :id
+            """)
+    int updateBonCommand(Long id, String url, AttachmentStatus status);
+
+    /**
+     * A quote renders its demand and its creator, so all three versions make up the ETag.
+     */
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO(
+                concat(str(q.version), '.', str(coalesce(d.version, 0)), '.', str(coalesce(u.version, 0))),
+                greatest(q.updatedAt, coalesce(d.updatedAt, q.updatedAt), coalesce(u.updatedAt, q.updatedAt)))
+            from Quote q left join q.demand d left join q.createdBy u
+            where q.id = :id
+            """)
+    Optional<ResourceVersionDTO> findVersionById(Long id);
 }
@@ -1,13 +1,74 @@
 package net.axel.gestibankbackend.repository;
 
+import net.axel.gestibankbackend.domain.dtos.user.responses.UserDirectoryDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
 import net.axel.gestibankbackend.domain.entities.AppUser;
 import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.security.service.UserPrincipal;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<AppUser, Long> {
 
     Optional<AppUser> findByEmail(String email);
+
+    @Query("""
+            select new net.axel.gestibankbackend.security.service.UserPrincipal(u.id, u.email, u.role)
+            from AppUser u
+            where u.email = :email
+            """)
+    Optional<UserPrincipal> findPrincipalByEmail(String email);
+
+    boolean existsByEmail(String email);
     boolean existsByRole(AppRole role);
+
+    /**
+     * Every user but {@code email} with the size of their history. The counts are subqueries
+     * rather than joins, so Postgres only computes them for the rows of the page, each one from
+     * the creator index of its table.
+     */
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.user.responses.UserDirectoryDTO(
+                u.id, u.firstName, u.lastName, u.email, u.role, u.createdAt,
+                (select count(d) from Demand d where d.createdBy = u),
+                (select count(q) from Quote q where q.createdBy = u))
+            from AppUser u
+            where u.email <> :email
+            """)
+    List<UserDirectoryDTO> findDirectoryPage(String email, Pageable pageable);
+
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.user.responses.UserDirectoryDTO(
+                u.id, u.firstName, u.lastName, u.email, u.role, u.createdAt,
+                (select count(d) from Demand d where d.createdBy = u),
+                (select count(q) from Quote q where q.createdBy = u))
+            from AppUser u
+            where u.email <> :email and u.id < :cursor
+            order by u.id desc
+            """)
+    List<UserDirectoryDTO> findDirectoryBefore(String email, Long cursor, Limit limit);
+
+    /**
+     * A profile renders the user's demands and quotes. Counting them catches a row created or
+     * deleted, summing their versions catches a row updated.
+     */
+    @Query("""
+            select new net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO(
+                concat(str(u.version),
+                       '.', str((select count(d) from Demand d where d.createdBy = u)),
+                       '.', str((select coalesce(sum(d.version), 0) from Demand d where d.createdBy = u)),
+                       '.', str((select count(q) from Quote q where q.createdBy = u)),
+                       '.', str((select coalesce(sum(q.version), 0) from Quote q where q.createdBy = u))),
+                greatest(u.updatedAt,
+                         coalesce((select max(d.updatedAt) from Demand d where d.createdBy = u), u.updatedAt),
+                         coalesce((select max(q.updatedAt) from Quote q where q.createdBy = u), u.updatedAt)))
+            from AppUser u
+            where u.email = :email
+            """)
+    Optional<ResourceVersionDTO> findProfileVersion(String email);
 }
@@ -1,31 +1,40 @@
 package net.axel.gestibankbackend.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import net.axel.gestibankbackend.security.service.CustomUserDetailsService;
 import net.axel.gestibankbackend.security.service.JWTService;
+import net.axel.gestibankbackend.security.service.PrincipalCache;
+import net.axel.gestibankbackend.security.service.TokenRevocationList;
+import net.axel.gestibankbackend.security.service.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JWTService jwtService;
-    private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
     private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
 
+    @Value("${app.security.jwt.stateless}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
@@ -36,26 +45,47 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String email = null;
+        Claims claims;
         try {
-            email = jwtService.extractEmail(token);
+            claims = jwtService.verify(token);
         } catch (Exception e) {
             log.warn("JWT extraction failed: {}", e.getMessage());
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-            if (jwtService.validateToken(token, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (stateless) {
+                authenticateFromClaims(claims, request);
+            } else {
+                authenticateFromUser(claims, request);
             }
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private void authenticateFromUser(Claims claims, HttpServletRequest request) {
+        UserPrincipal userDetails = principalCache.findByEmail(claims.getSubject()).orElse(null);
+
+        if (userDetails != null && jwtService.validateToken(claims, userDetails)) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities()
+            );
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+    }
+
+    private void authenticateFromClaims(Claims claims, HttpServletRequest request) {
+        if (revocationList.isRevoked(claims.get("userId", Long.class))) return;
+
+        String role = claims.get("role", String.class);
+        if (role == null) return;
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                claims.getSubject(), null, List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+}
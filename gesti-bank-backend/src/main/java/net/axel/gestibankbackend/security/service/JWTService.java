@@ -1,18 +1,23 @@
 package net.axel.gestibankbackend.security.service;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import net.axel.gestibankbackend.domain.entities.AppUser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 @Service
 public class JWTService {
@@ -21,6 +26,18 @@ public class JWTService {
             "9a8b7c6d5e4f3g2h1i0j9k8l7m6n5o4p".getBytes()
     );
     private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24;
+    private static final JwtParser PARSER = Jwts.parser()
+            .verifyWith(SECRET_KEY)
+            .build();
+
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JWTService(@Value("${app.security.jwt.verified-cache.max-size}") long maxSize,
+                      @Value("${app.security.jwt.verified-cache.ttl}") Duration ttl) {
+        this.verifiedTokens = maxSize > 0
+                ? Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build()
+                : null;
+    }
 
     public String generateToken(AppUser user) {
         Map<String, Object> claims = new HashMap<>();
@@ -41,41 +58,54 @@ public class JWTService {
                 .compact();
     }
 
+    public Duration getTokenLifetime() {
+        return Duration.ofMillis(EXPIRATION_TIME);
+    }
+
+    /**
+     * Verifies the signature once and returns the claims. Recently verified tokens are
+     * served from a short-lived cache, their expiration is still checked on every hit.
+     */
+    public Claims verify(String token) {
+        if (verifiedTokens == null) return parse(token);
+
+        Claims claims = verifiedTokens.get(token, JWTService::parse);
+        if (isExpired(claims)) {
+            verifiedTokens.invalidate(token);
+            throw new ExpiredJwtException(null, claims, "JWT expired at " + claims.getExpiration());
+        }
+        return claims;
+    }
+
     public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return verify(token).get("role", String.class);
     }
 
     public Long extractUserId(String token) {
-        return extractAllClaims(token).get("userId", Long.class);
+        return verify(token).get("userId", Long.class);
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
     }
 
-    public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenExpired(String token) {
+        return isExpired(verify(token));
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(SECRET_KEY)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static Claims parse(String token) {
+        return PARSER.parseSignedClaims(token).getPayload();
     }
 }
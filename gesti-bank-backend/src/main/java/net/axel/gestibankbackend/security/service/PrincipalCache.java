@@ -0,0 +1,47 @@
+package net.axel.gestibankbackend.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.axel.gestibankbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Size- and time-bounded cache of authenticated users keyed by email. Entries are immutable
+ * {@link UserPrincipal}s read by projection, never entities shared between threads.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository repository;
+    private final Cache<String, UserPrincipal> users;
+
+    public PrincipalCache(UserRepository repository,
+                          @Value("${app.security.principal-cache.max-size}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl}") Duration ttl) {
+        this.repository = repository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public Optional<UserPrincipal> findByEmail(String email) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.email().equals(email)) {
+            return Optional.of(principal);
+        }
+        return Optional.ofNullable(users.get(email, key -> repository.findPrincipalByEmail(key).orElse(null)));
+    }
+
+    public void invalidate(String email) {
+        users.invalidate(email);
+    }
+}
@@ -0,0 +1,29 @@
+package net.axel.gestibankbackend.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+/**
+ * Users whose tokens must be refused although their signature is still valid. An entry
+ * only needs to outlive the tokens issued before it, so it expires with the token lifetime.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final Cache<Long, Boolean> revokedUsers;
+
+    public TokenRevocationList(JWTService jwtService) {
+        this.revokedUsers = Caffeine.newBuilder()
+                .expireAfterWrite(jwtService.getTokenLifetime())
+                .build();
+    }
+
+    public void revoke(Long userId) {
+        revokedUsers.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isRevoked(Long userId) {
+        return userId == null || revokedUsers.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,32 @@
+package net.axel.gestibankbackend.security.service;
+
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * What a request needs to know about its caller, immutable so one instance can be shared by
+ * every thread. It carries no password: it only stands for users already authenticated by a
+ * token. Services that need the user entity take a reference from its id.
+ */
+public record UserPrincipal(Long id, String email, AppRole role) implements UserDetails {
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
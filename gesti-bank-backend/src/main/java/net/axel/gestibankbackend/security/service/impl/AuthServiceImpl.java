@@ -7,10 +7,12 @@ import net.axel.gestibankbackend.domain.dtos.user.responses.AuthenticationRespon
 import net.axel.gestibankbackend.domain.dtos.user.responses.UserResponseDTO;
 import net.axel.gestibankbackend.domain.entities.AppUser;
 import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.exception.domains.BusinessException;
 import net.axel.gestibankbackend.mapper.UserMapper;
 import net.axel.gestibankbackend.repository.UserRepository;
 import net.axel.gestibankbackend.security.service.AuthService;
 import net.axel.gestibankbackend.security.service.JWTService;
+import net.axel.gestibankbackend.security.service.PrincipalCache;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -29,15 +31,20 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authManager;
     private final JWTService jwtService;
+    private final PrincipalCache principalCache;
 
 
     @Override
     public UserResponseDTO register(UserRegisterDTO registerDTO) {
+        if (repository.existsByEmail(registerDTO.email())) {
+            throw new BusinessException("Email " + registerDTO.email() + " is already registered");
+        }
         String password = passwordEncoder.encode(registerDTO.password());
 
         AppRole role = AppRole.valueOf(registerDTO.role().toUpperCase());
         AppUser newUser = AppUser.register(registerDTO.firstName(), registerDTO.lastName(), registerDTO.email(), password, role);
         AppUser user = repository.save(newUser);
+        principalCache.invalidate(user.getEmail());
 
         return mapper.toResponseDTO(user);
     }
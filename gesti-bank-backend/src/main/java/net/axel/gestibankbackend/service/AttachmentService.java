@@ -0,0 +1,12 @@
+package net.axel.gestibankbackend.service;
+
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.entities.Quote;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface AttachmentService {
+
+    void attachToDemand(Demand demand, MultipartFile file);
+
+    void attachBonCommand(Quote quote, MultipartFile file);
+}
@@ -0,0 +1,18 @@
+package net.axel.gestibankbackend.service;
+
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandImportResultDTO;
+import net.axel.gestibankbackend.domain.enums.DataFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface DemandImportService {
+
+    /**
+     * Reads demands from {@code input} as it arrives and hands one result per demand to
+     * {@code report}: rejected rows right away, imported ones as their chunk commits.
+     */
+    void importDemands(InputStream input, DataFormat format, String email,
+                       Consumer<DemandImportResultDTO> report) throws IOException;
+}
@@ -1,14 +1,19 @@
 package net.axel.gestibankbackend.service;
 
 import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandRequestDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandSearchDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandUpdateDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandValidateDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandResponseDTO;
-import net.axel.gestibankbackend.domain.dtos.user.responses.TechnicianStatisticsDTO;
-import net.axel.gestibankbackend.domain.dtos.user.responses.UserStatisticsDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSearchResultDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.export.ExportRangeDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
 import net.axel.gestibankbackend.domain.entities.Demand;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DemandService {
 
@@ -20,13 +25,27 @@ public interface DemandService {
 
     List<DemandResponseDTO> findAll(int page, int size);
 
+    CursorPageDTO<DemandResponseDTO> findAfter(String after, int limit);
+
+    CursorPageDTO<DemandResponseDTO> findInbox(String email, String after, int limit);
+
     DemandResponseDTO findById(Long id);
 
+    ResourceVersionDTO findVersion(Long id);
+
+    List<DemandSummaryDTO> findAllSummaries(int page, int size);
+
+    CursorPageDTO<DemandSummaryDTO> findSummariesAfter(String after, int limit);
+
+    CursorPageDTO<DemandSummaryDTO> findInboxSummaries(String email, String after, int limit);
+
+    DemandSummaryDTO findSummaryById(Long id);
+
+    DemandSearchResultDTO search(DemandSearchDTO dto);
+
     DemandResponseDTO validate(DemandValidateDTO dto, String email);
 
     Demand findDemandEntity(Long id);
 
-    UserStatisticsDTO getUserStats(String email);
-
-    TechnicianStatisticsDTO getTechStats();
+    void export(ExportRangeDTO range, Consumer<DemandResponseDTO> sink);
 }
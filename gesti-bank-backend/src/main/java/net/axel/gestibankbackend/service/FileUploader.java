@@ -1,8 +1,12 @@
 package net.axel.gestibankbackend.service;
 
-import org.springframework.web.multipart.MultipartFile;
+import java.nio.file.Path;
 
 public interface FileUploader {
-    String upload(MultipartFile multipartFile);
+    /**
+     * Pushes a file already staged on local disk to the storage backend and returns the url it
+     * is served from. Called from the upload workers, never while a transaction is open.
+     */
+    String upload(Path file, String filename);
 //    void delete(String publicId, String folderType);
 }
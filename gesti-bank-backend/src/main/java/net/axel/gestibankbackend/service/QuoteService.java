@@ -1,13 +1,17 @@
 package net.axel.gestibankbackend.service;
 
+import net.axel.gestibankbackend.domain.dtos.export.ExportRangeDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteManageDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteRequestDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteUpdateDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteValidateDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteResponseDTO;
-import net.axel.gestibankbackend.domain.dtos.user.responses.ProviderStatisticsDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface QuoteService {
 
@@ -17,11 +21,25 @@ public interface QuoteService {
 
     List<QuoteResponseDTO> findAllQuotes(int page, int size);
 
+    CursorPageDTO<QuoteResponseDTO> findQuotesAfter(String after, int limit);
+
+    CursorPageDTO<QuoteResponseDTO> findInbox(String after, int limit);
+
     QuoteResponseDTO findById(Long id);
 
+    ResourceVersionDTO findVersion(Long id);
+
+    List<QuoteSummaryDTO> findAllSummaries(int page, int size);
+
+    CursorPageDTO<QuoteSummaryDTO> findSummariesAfter(String after, int limit);
+
+    CursorPageDTO<QuoteSummaryDTO> findInboxSummaries(String after, int limit);
+
+    QuoteSummaryDTO findSummaryById(Long id);
+
     QuoteResponseDTO validate(QuoteValidateDTO dto, String email);
 
     QuoteResponseDTO manage(QuoteManageDTO dto);
 
-    ProviderStatisticsDTO getProviderStats(String email);
+    void export(ExportRangeDTO range, Consumer<QuoteResponseDTO> sink);
 }
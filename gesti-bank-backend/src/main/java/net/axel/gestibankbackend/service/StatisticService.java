@@ -0,0 +1,14 @@
+package net.axel.gestibankbackend.service;
+
+import net.axel.gestibankbackend.domain.dtos.user.responses.ProviderStatisticsDTO;
+import net.axel.gestibankbackend.domain.dtos.user.responses.TechnicianStatisticsDTO;
+import net.axel.gestibankbackend.domain.dtos.user.responses.UserStatisticsDTO;
+
+public interface StatisticService {
+
+    UserStatisticsDTO getUserStats(String email);
+
+    TechnicianStatisticsDTO getTechStats();
+
+    ProviderStatisticsDTO getProviderStats(String email);
+}
@@ -0,0 +1,23 @@
+package net.axel.gestibankbackend.service;
+
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+
+import java.util.Map;
+
+public interface StatusCounterService {
+
+    void recordDemand(String owner, DemandStatus from, DemandStatus to);
+
+    void recordQuote(String owner, QuoteStatus from, QuoteStatus to);
+
+    void removeOwner(String owner);
+
+    Map<DemandStatus, Long> demandCounts(String owner);
+
+    Map<DemandStatus, Long> demandCounts();
+
+    Map<QuoteStatus, Long> quoteCounts(String owner);
+
+    long reconcile();
+}
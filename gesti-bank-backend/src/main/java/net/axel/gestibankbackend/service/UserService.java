@@ -1,14 +1,27 @@
 package net.axel.gestibankbackend.service;
 
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.user.responses.UserDirectoryDTO;
 import net.axel.gestibankbackend.domain.dtos.user.responses.UserResponseDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
 
 import java.util.List;
 
 public interface UserService {
 
-    List<UserResponseDTO> findAllUsers(int page, int size, String email);
+    List<UserDirectoryDTO> findAllUsers(int page, int size, String email);
+
+    CursorPageDTO<UserDirectoryDTO> findUsersAfter(String after, int limit, String email);
+
+    CursorPageDTO<DemandSummaryDTO> findDemandHistory(Long id, String after, int limit);
+
+    CursorPageDTO<QuoteSummaryDTO> findQuoteHistory(Long id, String after, int limit);
 
     void remove(Long id);
 
     UserResponseDTO findUser(String email);
+
+    ResourceVersionDTO findProfileVersion(String email);
 }
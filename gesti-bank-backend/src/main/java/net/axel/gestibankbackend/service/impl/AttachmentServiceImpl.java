@@ -0,0 +1,262 @@
+package net.axel.gestibankbackend.service.impl;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.entities.Quote;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
+import net.axel.gestibankbackend.exception.domains.FileUploadException;
+import net.axel.gestibankbackend.repository.DemandRepository;
+import net.axel.gestibankbackend.repository.QuoteRepository;
+import net.axel.gestibankbackend.service.AttachmentService;
+import net.axel.gestibankbackend.service.FileUploader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * The request only streams the attachment to a local staging directory and commits the entity
+ * with a PENDING attachment. Once the transaction commits, an upload worker pushes the file to
+ * the {@link FileUploader} and patches the url, so no database connection is held during the
+ * remote upload. Files still staged after a crash are resumed at startup, files left by a failed
+ * upload are retried every {@code app.uploads.retry-interval}, both unless older than
+ * {@code app.uploads.staging-retention}. Staging and remote uploads both go through the
+ * {@link UploadLimiter}.
+ */
+@Service
+
+@RequiredArgsConstructor
+public class AttachmentServiceImpl implements AttachmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentServiceImpl.class);
+
+    private final FileUploader fileUploader;
+    private final DemandRepository demandRepository;
+    private final QuoteRepository quoteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UploadWorkers workers;
+    private final UploadLimiter limiter;
+    private final MeterRegistry registry;
+
+    @Value("${app.uploads.staging-dir}")
+    private Path stagingDir;
+
+    @Value("${app.uploads.staging-retention}")
+    private Duration stagingRetention;
+
+    @Value("${app.uploads.retry-interval}")
+    private Duration retryInterval;
+
+    private final Set<Path> inFlight = ConcurrentHashMap.newKeySet();
+
+    enum Target {
+        DEMAND("demands"),
+        QUOTE("quotes");
+
+        private final String folder;
+
+        Target(String folder) {
+            this.folder = folder;
+        }
+    }
+
+    @Override
+    public void attachToDemand(Demand demand, MultipartFile file) {
+        Path staged = stage(Target.DEMAND, demand.getId(), file);
+        demand.setAttachedFile(null)
+                .setAttachmentStatus(AttachmentStatus.PENDING);
+        submitAfterCommit(Target.DEMAND, demand.getId(), staged);
+    }
+
+    @Override
+    public void attachBonCommand(Quote quote, MultipartFile file) {
+        Path staged = stage(Target.QUOTE, quote.getId(), file);
+        quote.setBonCommand(null)
+                .setBonCommandStatus(AttachmentStatus.PENDING);
+        submitAfterCommit(Target.QUOTE, quote.getId(), staged);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeStagedUploads() throws IOException {
+        resubmitStaged(Instant.now());
+    }
+
+    /**
+     * Files younger than the interval may belong to a transaction that has not committed yet,
+     * they are picked up by a later run.
+     */
+    @Scheduled(fixedDelayString = "${app.uploads.retry-interval}", initialDelayString = "${app.uploads.retry-interval}")
+    public void retryFailedUploads() throws IOException {
+        resubmitStaged(Instant.now().minus(retryInterval));
+    }
+
+    private void resubmitStaged(Instant stagedBefore) throws IOException {
+        Instant expiry = Instant.now().minus(stagingRetention);
+        for (Target target : Target.values()) {
+            Path dir = stagingDir.resolve(target.folder);
+            if (!Files.isDirectory(dir)) continue;
+
+            try (Stream<Path> entries = Files.list(dir)) {
+                for (Path entry : entries.toList()) {
+                    Long id = entityId(entry);
+                    if (id == null) {
+                        log.warn("Skipping {} in the staging directory, expected a directory per {} id", entry, target);
+                        continue;
+                    }
+                    resubmitStaged(target, id, entry, stagedBefore, expiry);
+                }
+            }
+        }
+    }
+
+    private void resubmitStaged(Target target, Long id, Path dir, Instant stagedBefore, Instant expiry) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                if (inFlight.contains(file)) continue;
+
+                Instant staged = Files.getLastModifiedTime(file).toInstant();
+                if (staged.isBefore(expiry)) {
+                    log.warn("Dropping staged upload {} for {} {}, older than {}", file.getFileName(), target, id, stagingRetention);
+                    delete(file);
+                } else if (staged.isBefore(stagedBefore)) {
+                    log.info("Resuming staged upload {} for {} {}", file.getFileName(), target, id);
+                    submit(target, id, file);
+                }
+            }
+        }
+    }
+
+    private static Long entityId(Path entry) {
+        String name = entry.getFileName().toString();
+        return Files.isDirectory(entry) && name.matches("\\d{1,18}") ? Long.valueOf(name) : null;
+    }
+
+    void upload(Target target, Long id, Path staged) {
+        String url = null;
+        AttachmentStatus status;
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            long size = Files.size(staged);
+            try (UploadLimiter.Permit ignored = limiter.acquire(size)) {
+                url = fileUploader.upload(staged, staged.getFileName().toString());
+            }
+            recordSize(target, size);
+            status = AttachmentStatus.UPLOADED;
+        } catch (IOException | RuntimeException e) {
+            log.error("Upload of {} for {} {} failed, keeping it staged", staged.getFileName(), target, id, e);
+            status = AttachmentStatus.FAILED;
+        }
+        sample.stop(timer("remote", target, status == AttachmentStatus.UPLOADED));
+
+        String finalUrl = url;
+        AttachmentStatus finalStatus = status;
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (target == Target.DEMAND) demandRepository.updateAttachment(id, finalUrl, finalStatus);
+            else quoteRepository.updateBonCommand(id, finalUrl, finalStatus);
+        });
+        if (status == AttachmentStatus.UPLOADED) delete(staged);
+    }
+
+    private Path stage(Target target, Long id, MultipartFile file) {
+        Path dir = stagingDir.resolve(target.folder).resolve(id.toString());
+        Path staged = dir.resolve(safeFilename(file.getOriginalFilename()));
+        Timer.Sample sample = Timer.start(registry);
+        boolean success = false;
+        try (UploadLimiter.Permit ignored = limiter.tryAcquire(file.getSize())) {
+            Files.createDirectories(dir);
+            Files.deleteIfExists(staged);
+            file.transferTo(staged);
+            success = true;
+            return staged;
+        } catch (IOException e) {
+            throw new FileUploadException("Failed to stage " + file.getOriginalFilename(), e);
+        } finally {
+            sample.stop(timer("staging", target, success));
+            if (!success) delete(staged);
+        }
+    }
+
+    private Timer timer(String phase, Target target, boolean success) {
+        return Timer.builder("attachments.upload")
+                .tag("phase", phase)
+                .tag("target", target.folder)
+                .tag("outcome", success ? "success" : "failure")
+                .register(registry);
+    }
+
+    private void recordSize(Target target, long size) {
+        DistributionSummary.builder("attachments.upload.size")
+                .baseUnit("bytes")
+                .tag("target", target.folder)
+                .register(registry)
+                .record(size);
+    }
+
+    private void submitAfterCommit(Target target, Long id, Path staged) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(target, id, staged);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) submit(target, id, staged);
+                else delete(staged);
+            }
+        });
+    }
+
+    /**
+     * A staged file is uploaded by one worker at a time, whether submitted after its commit or
+     * picked up again by a retry.
+     */
+    private void submit(Target target, Long id, Path staged) {
+        if (!inFlight.add(staged)) return;
+
+        workers.submit(() -> {
+            try {
+                upload(target, id, staged);
+            } finally {
+                inFlight.remove(staged);
+            }
+        });
+    }
+
+    private void delete(Path staged) {
+        try {
+            Files.deleteIfExists(staged);
+            Files.deleteIfExists(staged.getParent());
+        } catch (DirectoryNotEmptyException ignored) {
+            // another attachment of the same entity is still staged
+        } catch (IOException e) {
+            log.warn("Could not delete staged file {}: {}", staged, e.getMessage());
+        }
+    }
+
+    static String safeFilename(String originalFilename) {
+        String name = StringUtils.getFilename(StringUtils.cleanPath(originalFilename == null ? "" : originalFilename));
+        name = name == null ? "" : name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isBlank() || name.matches("\\.+") ? "attachment" : name;
+    }
+}
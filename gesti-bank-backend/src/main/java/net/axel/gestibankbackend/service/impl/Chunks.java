@@ -0,0 +1,29 @@
+package net.axel.gestibankbackend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+final class Chunks {
+
+    private Chunks() {
+    }
+
+    /**
+     * Drains {@code stream} in lists of at most {@code size} elements, only one list is alive
+     * at a time.
+     */
+    static <T> void forEach(Stream<T> stream, int size, Consumer<List<T>> action) {
+        Iterator<T> iterator = stream.iterator();
+        List<T> chunk = new ArrayList<>(size);
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == size || !iterator.hasNext()) {
+                action.accept(chunk);
+                chunk.clear();
+            }
+        }
+    }
+}
@@ -3,17 +3,17 @@ package net.axel.gestibankbackend.service.impl;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.exception.domains.FileUploadException;
 import net.axel.gestibankbackend.service.FileUploader;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 @Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "cloudinary", matchIfMissing = true)
 @RequiredArgsConstructor
 public class CloudinaryService implements FileUploader {
 
@@ -23,33 +23,19 @@ public class CloudinaryService implements FileUploader {
     private String baseFolder;
 
     @Override
-    public String upload(MultipartFile multipartFile) {
+    public String upload(Path file, String filename) {
         try {
-            var tempFile = createTempPath(multipartFile);
             var uploadParams = ObjectUtils.asMap(
                     "folder", baseFolder,
                     "resource_type","raw",
                     "type", "upload"
             );
 
-            var folder = cloudinary.uploader().upload(tempFile.toFile(), uploadParams);
+            // handed over as a File so the http client streams it from disk
+            var folder = cloudinary.uploader().upload(file.toFile(), uploadParams);
             return (String) folder.get("url");
         } catch (IOException e) {
-            throw new ImageUploadException("Failed to upload file to cloudinary: " + e);
+            throw new FileUploadException("Failed to upload file to cloudinary: " + filename, e);
         }
     }
-
-    private Path createTempPath(MultipartFile multipartFile) throws IOException {
-        Path tempFile = Files.createTempFile("temp", multipartFile.getOriginalFilename());
-        try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
-            outputStream.write(multipartFile.getBytes());
-        }
-        return tempFile;
-    }
-
-    private static class ImageUploadException extends RuntimeException {
-        public ImageUploadException(String message) {
-            super(message);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package net.axel.gestibankbackend.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.axel.gestibankbackend.domain.dtos.article.requests.ArticleRequestDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandImportDTO;
+import net.axel.gestibankbackend.domain.enums.DataFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads an import stream one demand at a time, only the current line is held in memory.
+ * NDJSON has one demand per line. CSV has a header and one line per article, consecutive
+ * lines sharing a {@code ref} form one demand. A record never spans lines, so a bad line is
+ * reported with its number and reading goes on with the next one. A bad header is reported
+ * once and ends the stream, no line can be read without it.
+ */
+final class DemandImportReader {
+
+    record Entry(long line, DemandImportDTO demand, String error) {
+    }
+
+    private record CsvRow(long line, List<String> fields, String error) {
+    }
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("ref", "title", "article_name", "article_quantity");
+
+    private final BufferedReader reader;
+    private final DataFormat format;
+    private final ObjectMapper objectMapper;
+
+    private long lineNumber;
+    private Map<String, Integer> columns;
+    private CsvRow pending;
+    private boolean ended;
+
+    DemandImportReader(InputStream input, DataFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next demand or parse error, or {@code null} once the stream is exhausted.
+     */
+    Entry next() throws IOException {
+        if (ended) return null;
+
+        return switch (format) {
+            case NDJSON -> nextJson();
+            case CSV -> nextCsv();
+        };
+    }
+
+    private Entry nextJson() throws IOException {
+        String line = nextLine();
+        if (line == null) return null;
+
+        try {
+            return new Entry(lineNumber, objectMapper.readValue(line, DemandImportDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return new Entry(lineNumber, null, "invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Entry nextCsv() throws IOException {
+        if (columns == null) {
+            String header = nextLine();
+            if (header == null) return null;
+            if (!readHeader(header)) {
+                ended = true;
+                return new Entry(lineNumber, null, "header must contain the columns " + REQUIRED_COLUMNS);
+            }
+        }
+
+        CsvRow first = pending != null ? pending : nextRow();
+        pending = null;
+        if (first == null) return null;
+        if (first.error() != null) return new Entry(first.line(), null, first.error());
+
+        String ref = field(first, "ref");
+        List<ArticleRequestDTO> articles = new ArrayList<>();
+        String error = null;
+        CsvRow row = first;
+        do {
+            try {
+                ArticleRequestDTO article = article(row);
+                if (article != null) articles.add(article);
+            } catch (NumberFormatException e) {
+                if (error == null) error = "line " + row.line() + ": article_quantity must be a whole number";
+            }
+            row = nextRow();
+        } while (row != null && row.error() == null && Objects.equals(field(row, "ref"), ref));
+        pending = row;
+
+        if (error != null) return new Entry(first.line(), null, error);
+        return new Entry(first.line(), new DemandImportDTO(field(first, "title"), field(first, "description"), articles), null);
+    }
+
+    private boolean readHeader(String header) {
+        List<String> names = split(header.replace("\uFEFF", ""));
+        if (names == null) return false;
+
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            indexes.put(names.get(i).toLowerCase(), i);
+        }
+        if (!indexes.keySet().containsAll(REQUIRED_COLUMNS)) return false;
+
+        columns = indexes;
+        return true;
+    }
+
+    private CsvRow nextRow() throws IOException {
+        String line = nextLine();
+        if (line == null) return null;
+
+        List<String> fields = split(line);
+        if (fields == null) return new CsvRow(lineNumber, null, "unterminated quoted field");
+        if (fields.size() != columns.size()) {
+            return new CsvRow(lineNumber, null, "expected " + columns.size() + " fields but found " + fields.size());
+        }
+        return new CsvRow(lineNumber, fields, null);
+    }
+
+    private ArticleRequestDTO article(CsvRow row) {
+        String name = field(row, "article_name");
+        String quantity = field(row, "article_quantity");
+        if (name == null && quantity == null) return null;
+
+        return new ArticleRequestDTO(name, field(row, "article_description"),
+                quantity == null ? null : Integer.valueOf(quantity));
+    }
+
+    private String field(CsvRow row, String column) {
+        Integer index = columns.get(column);
+        if (index == null) return null;
+
+        String value = row.fields().get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and {@code ""} escapes. Returns
+     * {@code null} when a quote is left open.
+     */
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().strip());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) return null;
+
+        fields.add(field.toString().strip());
+        return fields;
+    }
+}
@@ -0,0 +1,139 @@
+package net.axel.gestibankbackend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.dtos.article.requests.ArticleRequestDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandImportDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandImportResultDTO;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Article;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.DataFormat;
+import net.axel.gestibankbackend.domain.enums.ImportStatus;
+import net.axel.gestibankbackend.exception.domains.ResourceNotFoundException;
+import net.axel.gestibankbackend.repository.DemandRepository;
+import net.axel.gestibankbackend.security.service.PrincipalCache;
+import net.axel.gestibankbackend.security.service.UserPrincipal;
+import net.axel.gestibankbackend.service.DemandImportService;
+import net.axel.gestibankbackend.service.StatusCounterService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Valid demands are buffered up to the chunk size and written in one transaction per chunk,
+ * then the persistence context is cleared, so memory stays flat whatever the file size.
+ * Invalid rows are reported as soon as they are read; a chunk that fails to save is reported
+ * as failed and the import carries on with the next one.
+ */
+@Service
+
+@RequiredArgsConstructor
+public class DemandImportServiceImpl implements DemandImportService {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final DemandRepository repository;
+    private final PrincipalCache principalCache;
+    private final StatusCounterService counters;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.demands.import.chunk-size}")
+    private int chunkSize;
+
+    @Override
+    public void importDemands(InputStream input, DataFormat format, String email,
+                              Consumer<DemandImportResultDTO> report) throws IOException {
+        UserPrincipal creator = principalCache.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Creator not exists in system"));
+        DemandImportReader reader = new DemandImportReader(input, format, objectMapper);
+
+        List<DemandImportReader.Entry> chunk = new ArrayList<>(chunkSize);
+        DemandImportReader.Entry entry;
+        while ((entry = reader.next()) != null) {
+            String error = entry.error() != null ? entry.error() : validate(entry.demand());
+            if (error != null) {
+                report.accept(new DemandImportResultDTO(entry.line(), ImportStatus.REJECTED, null, error));
+                continue;
+            }
+
+            chunk.add(entry);
+            if (chunk.size() == chunkSize) {
+                persist(chunk, creator, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) persist(chunk, creator, report);
+    }
+
+    private void persist(List<DemandImportReader.Entry> chunk, UserPrincipal creator, Consumer<DemandImportResultDTO> report) {
+        List<Long> ids;
+        try {
+            ids = transactionTemplate.execute(status -> {
+                AppUser reference = entityManager.getReference(AppUser.class, creator.id());
+                List<Demand> demands = repository.saveAll(chunk.stream()
+                        .map(entry -> toDemand(entry.demand(), reference, creator.role()))
+                        .toList());
+                demands.forEach(demand -> counters.recordDemand(creator.email(), null, demand.getStatus()));
+                entityManager.flush();
+                entityManager.clear();
+                return demands.stream().map(Demand::getId).toList();
+            });
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            String error = "chunk could not be saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            chunk.forEach(entry -> report.accept(new DemandImportResultDTO(entry.line(), ImportStatus.FAILED, null, error)));
+            return;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            report.accept(new DemandImportResultDTO(chunk.get(i).line(), ImportStatus.IMPORTED, ids.get(i), null));
+        }
+    }
+
+    private Demand toDemand(DemandImportDTO dto, AppUser creator, AppRole role) {
+        Demand demand = Demand.createDemand(dto.title(), dto.description(), null, creator);
+        if (role == AppRole.RESPONSIBLE) demand.setStatus(DemandStatus.RESPONSIBLE_APPROVED);
+
+        dto.articles().forEach(article -> demand.getArticles().add(
+                Article.createArticle(article.name(), article.description(), article.quantity(), demand)
+        ));
+        return demand;
+    }
+
+    private static String validate(DemandImportDTO demand) {
+        if (isBlank(demand.title())) return "title is required";
+        if (tooLong(demand.title()) || tooLong(demand.description())) return "title and description are limited to " + MAX_TEXT_LENGTH + " characters";
+        if (demand.articles() == null || demand.articles().isEmpty()) return "at least one article is required";
+
+        for (int i = 0; i < demand.articles().size(); i++) {
+            ArticleRequestDTO article = demand.articles().get(i);
+            if (isBlank(article.name())) return "article " + (i + 1) + ": name is required";
+            if (tooLong(article.name()) || tooLong(article.description())) return "article " + (i + 1) + ": name and description are limited to " + MAX_TEXT_LENGTH + " characters";
+            if (article.quantity() == null || article.quantity() < 1) return "article " + (i + 1) + ": quantity must be at least 1";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+}
@@ -1,35 +1,59 @@
 package net.axel.gestibankbackend.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.dtos.article.ArticleEmbeddedDTO;
+import net.axel.gestibankbackend.domain.dtos.article.projections.ArticleRowDTO;
+import net.axel.gestibankbackend.domain.dtos.comment.CommentEmbeddedDTO;
+import net.axel.gestibankbackend.domain.dtos.comment.projections.CommentRowDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandRequestDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandSearchDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandUpdateDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandValidateDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandResponseDTO;
-import net.axel.gestibankbackend.domain.dtos.user.responses.TechnicianStatisticsDTO;
-import net.axel.gestibankbackend.domain.dtos.user.responses.UserStatisticsDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSearchResultDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.export.ExportRangeDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
 import net.axel.gestibankbackend.domain.entities.AppUser;
 import net.axel.gestibankbackend.domain.entities.Article;
 import net.axel.gestibankbackend.domain.entities.Comment;
 import net.axel.gestibankbackend.domain.entities.Demand;
 import net.axel.gestibankbackend.domain.enums.AppRole;
 import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.exception.domains.BusinessException;
 import net.axel.gestibankbackend.exception.domains.ResourceNotFoundException;
+import net.axel.gestibankbackend.mapper.CommentMapper;
 import net.axel.gestibankbackend.mapper.DemandMapper;
 import net.axel.gestibankbackend.repository.ArticleRepository;
+import net.axel.gestibankbackend.repository.CommentRepository;
 import net.axel.gestibankbackend.repository.DemandRepository;
-import net.axel.gestibankbackend.repository.UserRepository;
 import net.axel.gestibankbackend.service.ArticleService;
+import net.axel.gestibankbackend.service.AttachmentService;
+import net.axel.gestibankbackend.repository.UserRepository;
+import net.axel.gestibankbackend.security.service.PrincipalCache;
+import net.axel.gestibankbackend.security.service.UserPrincipal;
 import net.axel.gestibankbackend.service.CommentService;
 import net.axel.gestibankbackend.service.DemandService;
-import net.axel.gestibankbackend.service.FileUploader;
+import net.axel.gestibankbackend.service.StatusCounterService;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
 
 @Service
 @Transactional
@@ -39,25 +63,33 @@ public class DemandServiceImpl implements DemandService {
 
     private final DemandRepository repository;
     private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
     private final ArticleService articleService;
+    private final PrincipalCache principalCache;
     private final UserRepository userRepository;
     private final DemandMapper mapper;
-    private final FileUploader fileUploader;
+    private final CommentMapper commentMapper;
+    private final AttachmentService attachmentService;
     private final CommentService commentService;
+    private final StatusCounterService counters;
+    private final ObjectMapper objectMapper;
+
+    private static final int EXPORT_CHUNK_SIZE = Integer.parseInt(DemandRepository.EXPORT_FETCH_SIZE);
 
     @Override
     public DemandResponseDTO create(DemandRequestDTO dto, String email) {
-        AppUser creator = getUser(email);
-
-        String fileUrl = dto.attachedFile() != null && !dto.attachedFile().isEmpty()
-                ? uploadFile(dto.attachedFile())
-                : null;
+        UserPrincipal principal = getPrincipal(email);
+        AppUser creator = userRepository.getReferenceById(principal.id());
 
         Demand demand = repository.save(
-                Demand.createDemand(dto.title(), dto.description(), fileUrl, creator)
+                Demand.createDemand(dto.title(), dto.description(), null, creator)
         );
+        if (dto.attachedFile() != null && !dto.attachedFile().isEmpty()) {
+            attachmentService.attachToDemand(demand, dto.attachedFile());
+        }
 
-        if (creator.getRole() == AppRole.RESPONSIBLE) demand.setStatus(DemandStatus.RESPONSIBLE_APPROVED);
+        if (principal.role() == AppRole.RESPONSIBLE) demand.setStatus(DemandStatus.RESPONSIBLE_APPROVED);
+        counters.recordDemand(principal.email(), null, demand.getStatus());
 
         List<Article> articles = dto.articles().stream()
                 .map(articleDto -> Article.createArticle(
@@ -73,15 +105,18 @@ public class DemandServiceImpl implements DemandService {
 
     @Override
     public DemandResponseDTO update(DemandUpdateDTO dto, String email) {
-        AppUser user = getUser(email);
+        UserPrincipal user = getPrincipal(email);
         if (!repository.existsById(dto.id())) throw new ResourceNotFoundException("Can't update, demand not exists!");
 
         Demand demand = findDemandEntity(dto.id());
+        DemandStatus previous = demand.getStatus();
         demand.setTitle(dto.title())
-                .setDescription(dto.description());
+                .setDescription(dto.description())
+                .touch();
 
-        if (user.getRole() == AppRole.RESPONSIBLE) demand.setStatus(DemandStatus.RESPONSIBLE_APPROVED);
-        if (user.getRole() == AppRole.AGENT)demand.setStatus(DemandStatus.CREATED);
+        if (user.role() == AppRole.RESPONSIBLE) demand.setStatus(DemandStatus.RESPONSIBLE_APPROVED);
+        if (user.role() == AppRole.AGENT)demand.setStatus(DemandStatus.CREATED);
+        recordTransition(demand, previous);
 
         List<Article> articles = dto.articles().stream()
                 .map(articleDTO -> {
@@ -107,7 +142,9 @@ public class DemandServiceImpl implements DemandService {
     @Override
     public void updateStatus(Long id, String demandStatus) {
         Demand demand = findDemandEntity(id);
+        DemandStatus previous = demand.getStatus();
         demand.setStatus(DemandStatus.valueOf(demandStatus));
+        recordTransition(demand, previous);
     }
 
     @Override
@@ -117,57 +154,164 @@ public class DemandServiceImpl implements DemandService {
     }
 
     @Override
-    public UserStatisticsDTO getUserStats(String email) {
-        AppUser agent = getUser(email);
-        int total = repository.countByCreatedBy(agent);
-        int closed = repository.countByCreatedByAndStatus(agent, DemandStatus.DONE);
-        int pending = repository.countByCreatedByAndStatus(agent, DemandStatus.CREATED);
-        int rejected = repository.countByCreatedByAndStatus(agent, DemandStatus.RESPONSIBLE_REJECTED) + repository.countByCreatedByAndStatus(agent, DemandStatus.TECHNICIAN_REJECTED);
-
-        return  new UserStatisticsDTO(total, closed, pending, rejected);
+    @Transactional(readOnly = true)
+    public List<DemandResponseDTO> findAll(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
+        return toResponses(repository.findPageRows(pageable));
     }
 
     @Override
-    public TechnicianStatisticsDTO getTechStats() {
-        int toValidate = repository.countByStatus(DemandStatus.RESPONSIBLE_APPROVED);
-        int validated = repository.countByStatus(DemandStatus.TECHNICIAN_APPROVED);
-        int rejected = repository.countByStatus(DemandStatus.TECHNICIAN_REJECTED);
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DemandResponseDTO> findAfter(String after, int limit) {
+        List<DemandRowDTO> rows = repository.findRowsBefore(CursorPageDTO.decode(after), CursorPageDTO.fetchLimit(limit));
+        return CursorPageDTO.of(rows, limit, DemandRowDTO::id)
+                .map(this::toResponses);
+    }
 
-        return new TechnicianStatisticsDTO(toValidate, validated, rejected);
+    /**
+     * The demands waiting on the caller: an agent follows their own, a responsible and a
+     * technician review the ones at their step, a provider quotes approved demands once.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DemandResponseDTO> findInbox(String email, String after, int limit) {
+        return CursorPageDTO.of(findInboxRows(email, after, limit), limit, DemandRowDTO::id)
+                .map(this::toResponses);
     }
 
     @Override
-    public List<DemandResponseDTO> findAll(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
-        return repository.findAll(pageable)
-                .stream()
-                .map(mapper::toResponseDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public void export(ExportRangeDTO range, Consumer<DemandResponseDTO> sink) {
+        try (Stream<DemandRowDTO> rows = repository.streamRows(range.from(), range.to())) {
+            Chunks.forEach(rows, EXPORT_CHUNK_SIZE, chunk -> toResponses(chunk).forEach(sink));
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public DemandResponseDTO findById(Long id) {
         return mapper.toResponseDto(findDemandEntity(id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO findVersion(Long id) {
+        return repository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Demand", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DemandSummaryDTO> findAllSummaries(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
+        return toSummaries(repository.findPageRows(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DemandSummaryDTO> findSummariesAfter(String after, int limit) {
+        List<DemandRowDTO> rows = repository.findRowsBefore(CursorPageDTO.decode(after), CursorPageDTO.fetchLimit(limit));
+        return CursorPageDTO.of(rows, limit, DemandRowDTO::id)
+                .map(this::toSummaries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DemandSummaryDTO> findInboxSummaries(String email, String after, int limit) {
+        return CursorPageDTO.of(findInboxRows(email, after, limit), limit, DemandRowDTO::id)
+                .map(this::toSummaries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DemandSummaryDTO findSummaryById(Long id) {
+        return repository.findRowById(id)
+                .map(mapper::toSummaryDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Demand", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DemandSearchResultDTO search(DemandSearchDTO dto) {
+        String result = repository.search(
+                dto.query(),
+                dto.from(),
+                dto.to(),
+                dto.status() == null ? null : dto.status().name(),
+                dto.creator(),
+                dto.quoteStatus() == null ? null : dto.quoteStatus().name(),
+                dto.size(),
+                dto.page() * dto.size(),
+                DemandRepository.SEARCH_CREATOR_FACETS
+        );
+        try {
+            return objectMapper.readValue(result, DemandSearchResultDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable search result", e);
+        }
+    }
+
     @Override
     public DemandResponseDTO validate(DemandValidateDTO dto, String email) {
-        AppUser user = getUser(email);
+        UserPrincipal user = getPrincipal(email);
         Demand demand = findDemandEntity(dto.comment().demandId());
-        String status = user.getRole()+"_"+dto.demandStatus().toUpperCase();
+        DemandStatus previous = demand.getStatus();
+        String status = user.role()+"_"+dto.demandStatus().toUpperCase();
         demand.setStatus(DemandStatus.valueOf(status));
+        recordTransition(demand, previous);
 
-        Comment comment = commentService.create(dto.comment(), user);
+        Comment comment = commentService.create(dto.comment(), userRepository.getReferenceById(user.id()));
         demand.getComments().add(comment);
+        demand.touch();
         return mapper.toResponseDto(demand);
     }
 
-    private String uploadFile(MultipartFile file) {
-        return fileUploader.upload(file);
+    private List<DemandResponseDTO> toResponses(List<DemandRowDTO> rows) {
+        if (rows.isEmpty()) return List.of();
+
+        List<Long> ids = rows.stream().map(DemandRowDTO::id).toList();
+        Map<Long, List<ArticleEmbeddedDTO>> articles = articleRepository.findRowsByDemandIds(ids)
+                .stream()
+                .collect(groupingBy(ArticleRowDTO::demandId, mapping(mapper::mapArticleRowToEmbedded, toList())));
+        Map<Long, List<CommentEmbeddedDTO>> comments = commentRepository.findRowsByDemandIds(ids)
+                .stream()
+                .collect(groupingBy(CommentRowDTO::ownerId, mapping(commentMapper::mapRowToEmbedded, toList())));
+
+        return rows.stream()
+                .map(row -> mapper.toResponseDto(
+                        row,
+                        articles.getOrDefault(row.id(), List.of()),
+                        comments.getOrDefault(row.id(), List.of())
+                ))
+                .toList();
+    }
+
+    private List<DemandSummaryDTO> toSummaries(List<DemandRowDTO> rows) {
+        return rows.stream()
+                .map(mapper::toSummaryDto)
+                .toList();
+    }
+
+    private List<DemandRowDTO> findInboxRows(String email, String after, int limit) {
+        UserPrincipal user = getPrincipal(email);
+        Long cursor = CursorPageDTO.decode(after);
+        Limit fetchLimit = CursorPageDTO.fetchLimit(limit);
+
+        return switch (user.role()) {
+            case AGENT -> repository.findRowsByCreatorBefore(user.id(), cursor, fetchLimit);
+            case RESPONSIBLE -> repository.findCreatedRowsBefore(cursor, fetchLimit);
+            case TECHNICIAN -> repository.findResponsibleApprovedRowsBefore(cursor, fetchLimit);
+            case PROVIDER -> repository.findTechnicianApprovedRowsWithoutQuoteFromBefore(user.id(), cursor, fetchLimit);
+            case MANAGER, ADMIN -> throw new BusinessException("No demand inbox for role " + user.role());
+        };
+    }
+
+    private void recordTransition(Demand demand, DemandStatus previous) {
+        counters.recordDemand(demand.getCreatedBy().getEmail(), previous, demand.getStatus());
     }
 
-    private AppUser getUser(String email) {
-        return userRepository.findByEmail(email)
+    private UserPrincipal getPrincipal(String email) {
+        return principalCache.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Creator not exists in system"));
     }
 }
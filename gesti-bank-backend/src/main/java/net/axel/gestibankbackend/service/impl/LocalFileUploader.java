@@ -0,0 +1,105 @@
+package net.axel.gestibankbackend.service.impl;
+
+import net.axel.gestibankbackend.service.FileUploader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Stores attachments in a local or network mounted directory, enabled with
+ * {@code app.storage.backend=local}. Objects are addressed by the SHA-256 of their content so a
+ * file uploaded twice is stored once, and are copied channel to channel so the bytes never go
+ * through the heap. They are served by {@code FileController}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalFileUploader implements FileUploader {
+
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final String publicUrl;
+
+    public LocalFileUploader(@Value("${app.storage.local.root}") Path root,
+                             @Value("${app.storage.local.public-url}") String publicUrl) {
+        this.root = root;
+        this.publicUrl = publicUrl;
+    }
+
+    @Override
+    public String upload(Path file, String filename) {
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            String hash = sha256(source);
+            Path target = objectPath(hash);
+            if (Files.notExists(target)) store(source.position(0), target);
+
+            return publicUrl + "/" + hash + "/" + UriUtils.encodePathSegment(filename, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store " + filename, e);
+        }
+    }
+
+    public Optional<Path> find(String hash) {
+        if (!SHA_256.matcher(hash).matches()) return Optional.empty();
+
+        Path path = objectPath(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Copies into a temporary file next to the target then renames it, so a concurrent upload
+     * of the same content or a reader never sees a partial object.
+     */
+    private void store(FileChannel source, Path target) throws IOException {
+        Path dir = Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long size = source.size();
+                for (long position = 0; position < size; ) {
+                    position += out.transferFrom(source, position, size - position);
+                }
+                out.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path objectPath(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static String sha256(FileChannel source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+        while (source.read(buffer) != -1) {
+            digest.update(buffer.flip());
+            buffer.clear();
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
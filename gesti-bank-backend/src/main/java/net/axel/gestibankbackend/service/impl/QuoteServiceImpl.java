@@ -1,33 +1,50 @@
 package net.axel.gestibankbackend.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.dtos.comment.CommentEmbeddedDTO;
+import net.axel.gestibankbackend.domain.dtos.comment.projections.CommentRowDTO;
+import net.axel.gestibankbackend.domain.dtos.export.ExportRangeDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteManageDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteRequestDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteUpdateDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteValidateDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteResponseDTO;
-import net.axel.gestibankbackend.domain.dtos.user.responses.ProviderStatisticsDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
 import net.axel.gestibankbackend.domain.entities.AppUser;
 import net.axel.gestibankbackend.domain.entities.Comment;
 import net.axel.gestibankbackend.domain.entities.Demand;
 import net.axel.gestibankbackend.domain.entities.Quote;
 import net.axel.gestibankbackend.domain.enums.QuoteStatus;
 import net.axel.gestibankbackend.exception.domains.ResourceNotFoundException;
+import net.axel.gestibankbackend.mapper.CommentMapper;
 import net.axel.gestibankbackend.mapper.QuoteMapper;
+import net.axel.gestibankbackend.repository.CommentRepository;
 import net.axel.gestibankbackend.repository.QuoteRepository;
 import net.axel.gestibankbackend.repository.UserRepository;
+import net.axel.gestibankbackend.security.service.PrincipalCache;
+import net.axel.gestibankbackend.security.service.UserPrincipal;
+import net.axel.gestibankbackend.service.AttachmentService;
 import net.axel.gestibankbackend.service.CommentService;
 import net.axel.gestibankbackend.service.DemandService;
-import net.axel.gestibankbackend.service.FileUploader;
 import net.axel.gestibankbackend.service.QuoteService;
+import net.axel.gestibankbackend.service.StatusCounterService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
 
 @Service
 @Transactional
@@ -37,77 +54,163 @@ public class QuoteServiceImpl implements QuoteService {
 
     private final QuoteRepository repository;
     private final QuoteMapper mapper;
+    private final CommentMapper commentMapper;
+    private final CommentRepository commentRepository;
+    private final PrincipalCache principalCache;
     private final UserRepository userRepository;
     private final DemandService demandService;
     private final CommentService commentService;
-    private final FileUploader fileUploader;
+    private final AttachmentService attachmentService;
+    private final StatusCounterService counters;
 
+    private static final int EXPORT_CHUNK_SIZE = Integer.parseInt(QuoteRepository.EXPORT_FETCH_SIZE);
 
     @Override
     public QuoteResponseDTO create(QuoteRequestDTO dto, String email) {
-        AppUser creator = getUser(email);
+        UserPrincipal principal = getPrincipal(email);
         Demand demand = demandService.findDemandEntity(dto.demandId());
-        Quote quote = Quote.createQuote(creator, demand, dto.totalAmount());
+        Quote quote = Quote.createQuote(userRepository.getReferenceById(principal.id()), demand, dto.totalAmount());
+        counters.recordQuote(principal.email(), null, quote.getStatus());
         return mapper.mapToResponse(repository.save(quote));
     }
 
     @Override
     public QuoteResponseDTO update(QuoteUpdateDTO dto) {
         Quote quote = findQuoteEntity(dto.id());
+        QuoteStatus previous = quote.getStatus();
         quote.setTotalAmount(dto.totalAmount())
                 .setStatus(QuoteStatus.CREATED);
+        recordTransition(quote, previous);
         return  mapper.mapToResponse(quote);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<QuoteResponseDTO> findAllQuotes(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
-        return repository.findAll(pageable)
-                .stream()
-                .map(mapper::mapToResponse)
-                .toList();
+        return toResponses(repository.findPageRows(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuoteResponseDTO> findQuotesAfter(String after, int limit) {
+        List<QuoteRowDTO> rows = repository.findRowsBefore(CursorPageDTO.decode(after), CursorPageDTO.fetchLimit(limit));
+        return CursorPageDTO.of(rows, limit, QuoteRowDTO::id)
+                .map(this::toResponses);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuoteResponseDTO> findInbox(String after, int limit) {
+        List<QuoteRowDTO> rows = repository.findApprovedRowsBefore(CursorPageDTO.decode(after), CursorPageDTO.fetchLimit(limit));
+        return CursorPageDTO.of(rows, limit, QuoteRowDTO::id)
+                .map(this::toResponses);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(ExportRangeDTO range, Consumer<QuoteResponseDTO> sink) {
+        try (Stream<QuoteRowDTO> rows = repository.streamRows(range.from(), range.to())) {
+            Chunks.forEach(rows, EXPORT_CHUNK_SIZE, chunk -> toResponses(chunk).forEach(sink));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public QuoteResponseDTO findById(Long id) {
         return mapper.mapToResponse(findQuoteEntity(id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO findVersion(Long id) {
+        return repository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Quote", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuoteSummaryDTO> findAllSummaries(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
+        return toSummaries(repository.findPageRows(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuoteSummaryDTO> findSummariesAfter(String after, int limit) {
+        List<QuoteRowDTO> rows = repository.findRowsBefore(CursorPageDTO.decode(after), CursorPageDTO.fetchLimit(limit));
+        return CursorPageDTO.of(rows, limit, QuoteRowDTO::id)
+                .map(this::toSummaries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuoteSummaryDTO> findInboxSummaries(String after, int limit) {
+        List<QuoteRowDTO> rows = repository.findApprovedRowsBefore(CursorPageDTO.decode(after), CursorPageDTO.fetchLimit(limit));
+        return CursorPageDTO.of(rows, limit, QuoteRowDTO::id)
+                .map(this::toSummaries);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuoteSummaryDTO findSummaryById(Long id) {
+        return repository.findRowById(id)
+                .map(mapper::mapToSummary)
+                .orElseThrow(() -> new ResourceNotFoundException("Quote", id));
+    }
+
     @Override
     public QuoteResponseDTO validate(QuoteValidateDTO dto, String email) {
-        AppUser user = getUser(email);
+        AppUser user = userRepository.getReferenceById(getPrincipal(email).id());
         Quote quote = findQuoteEntity(dto.comment().quoteId());
+        QuoteStatus previous = quote.getStatus();
         quote.setStatus(QuoteStatus.valueOf(dto.quoteStatus().toUpperCase()));
+        recordTransition(quote, previous);
 
         Comment comment = commentService.create(dto.comment(), user);
         quote.getComments().add(comment);
+        quote.touch();
         return mapper.mapToResponse(quote);
     }
 
     @Override
     public QuoteResponseDTO manage(QuoteManageDTO dto) {
         Quote quote = findQuoteEntity(dto.quoteId());
+        QuoteStatus previous = quote.getStatus();
         quote.setStatus(QuoteStatus.DONE);
+        recordTransition(quote, previous);
         Demand demand = quote.getDemand();
         demandService.updateStatus(demand.getId(), "DONE");
 
-        String fileUrl = dto.attachedFile() != null && !dto.attachedFile().isEmpty()
-                ? uploadFile(dto.attachedFile())
-                : null;
-
-        quote.setBonCommand(fileUrl);
+        if (dto.attachedFile() != null && !dto.attachedFile().isEmpty()) {
+            attachmentService.attachBonCommand(quote, dto.attachedFile());
+        } else {
+            quote.setBonCommand(null);
+        }
         return mapper.mapToResponse(quote);
     }
     
-    @Override
-    public ProviderStatisticsDTO getProviderStats(String email) {
-        AppUser provider = getUser(email);
-        int created = repository.countByCreatedBy(provider);
-        int approved = repository.countByCreatedByAndStatus(provider, QuoteStatus.APPROVED);
-        int pending = repository.countByCreatedByAndStatus(provider, QuoteStatus.CREATED);
-        int rejected = repository.countByCreatedByAndStatus(provider, QuoteStatus.REJECTED);
+    private List<QuoteResponseDTO> toResponses(List<QuoteRowDTO> rows) {
+        if (rows.isEmpty()) return List.of();
 
-        return new ProviderStatisticsDTO(created, approved, pending, rejected);
+        List<Long> ids = rows.stream().map(QuoteRowDTO::id).toList();
+        Map<Long, List<CommentEmbeddedDTO>> comments = commentRepository.findRowsByQuoteIds(ids)
+                .stream()
+                .collect(groupingBy(CommentRowDTO::ownerId, mapping(commentMapper::mapRowToEmbedded, toList())));
+
+        return rows.stream()
+                .map(row -> mapper.mapToResponse(row, comments.getOrDefault(row.id(), List.of())))
+                .toList();
+    }
+
+    private List<QuoteSummaryDTO> toSummaries(List<QuoteRowDTO> rows) {
+        return rows.stream()
+                .map(mapper::mapToSummary)
+                .toList();
+    }
+
+    private void recordTransition(Quote quote, QuoteStatus previous) {
+        counters.recordQuote(quote.getCreatedBy().getEmail(), previous, quote.getStatus());
     }
 
     private Quote findQuoteEntity(Long id) {
@@ -115,12 +218,8 @@ public class QuoteServiceImpl implements QuoteService {
                 .orElseThrow(() -> new ResourceNotFoundException("Quote", id));
     }
 
-    private AppUser getUser(String email) {
-        return userRepository.findByEmail(email)
+    private UserPrincipal getPrincipal(String email) {
+        return principalCache.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Creator not exists in system"));
     }
-
-    private String uploadFile(MultipartFile file) {
-        return fileUploader.upload(file);
-    }
 }
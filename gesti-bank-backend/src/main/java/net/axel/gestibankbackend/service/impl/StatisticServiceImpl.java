@@ -0,0 +1,76 @@
+package net.axel.gestibankbackend.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.dtos.user.responses.ProviderStatisticsDTO;
+import net.axel.gestibankbackend.domain.dtos.user.responses.TechnicianStatisticsDTO;
+import net.axel.gestibankbackend.domain.dtos.user.responses.UserStatisticsDTO;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+import net.axel.gestibankbackend.exception.domains.ResourceNotFoundException;
+import net.axel.gestibankbackend.security.service.PrincipalCache;
+import net.axel.gestibankbackend.service.StatisticService;
+import net.axel.gestibankbackend.service.StatusCounterService;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+
+@Service
+
+@RequiredArgsConstructor
+public class StatisticServiceImpl implements StatisticService {
+
+    private static final Set<DemandStatus> REJECTED_DEMANDS = Set.of(
+            DemandStatus.RESPONSIBLE_REJECTED, DemandStatus.TECHNICIAN_REJECTED
+    );
+
+    private final StatusCounterService counters;
+    private final PrincipalCache principalCache;
+
+    @Override
+    public UserStatisticsDTO getUserStats(String email) {
+        Map<DemandStatus, Long> counts = counters.demandCounts(getOwner(email));
+
+        return new UserStatisticsDTO(
+                sum(counts, Set.of(DemandStatus.values())),
+                sum(counts, Set.of(DemandStatus.DONE)),
+                sum(counts, Set.of(DemandStatus.CREATED)),
+                sum(counts, REJECTED_DEMANDS)
+        );
+    }
+
+    @Override
+    public TechnicianStatisticsDTO getTechStats() {
+        Map<DemandStatus, Long> counts = counters.demandCounts();
+
+        return new TechnicianStatisticsDTO(
+                sum(counts, Set.of(DemandStatus.RESPONSIBLE_APPROVED)),
+                sum(counts, Set.of(DemandStatus.TECHNICIAN_APPROVED)),
+                sum(counts, Set.of(DemandStatus.TECHNICIAN_REJECTED))
+        );
+    }
+
+    @Override
+    public ProviderStatisticsDTO getProviderStats(String email) {
+        Map<QuoteStatus, Long> counts = counters.quoteCounts(getOwner(email));
+
+        return new ProviderStatisticsDTO(
+                sum(counts, Set.of(QuoteStatus.values())),
+                sum(counts, Set.of(QuoteStatus.APPROVED)),
+                sum(counts, Set.of(QuoteStatus.CREATED)),
+                sum(counts, Set.of(QuoteStatus.REJECTED))
+        );
+    }
+
+    private String getOwner(String email) {
+        return principalCache.findByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Creator not exists in system"))
+                .email();
+    }
+
+    private <S extends Enum<S>> int sum(Map<S, Long> counts, Set<S> statuses) {
+        return statuses.stream()
+                .mapToInt(status -> counts.getOrDefault(status, 0L).intValue())
+                .sum();
+    }
+}
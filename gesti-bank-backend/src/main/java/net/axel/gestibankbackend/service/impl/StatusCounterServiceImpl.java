@@ -0,0 +1,178 @@
+package net.axel.gestibankbackend.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+import net.axel.gestibankbackend.service.StatusCounterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counters live in the status_counts table. A transaction collects its transitions and adds
+ * them just before it commits, summed per row and in key order, so a chunk of imported demands
+ * is one upsert per status and two writers never wait on each other's rows in opposite orders.
+ * Every instance reads the same committed figures.
+ * <p>
+ * Reconciliation only repairs rows written around the services, a bulk load or an edited
+ * email for instance. It locks the table against writers while it recounts, so it runs rarely.
+ */
+@Service
+
+@RequiredArgsConstructor
+public class StatusCounterServiceImpl implements StatusCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusCounterServiceImpl.class);
+
+    private static final String DEMAND = "DEMAND";
+    private static final String QUOTE = "QUOTE";
+
+    private static final String ACTUAL_COUNTS = """
+            select 'DEMAND' as kind, u.email as owner, d.status, count(*) as total
+            from demands d join users u on u.id = d.created_by_id
+            where d.status is not null
+            group by u.email, d.status
+            union all
+            select 'QUOTE', u.email, q.status, count(*)
+            from quotes q join users u on u.id = q.created_by_id
+            where q.status is not null
+            group by u.email, q.status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void recordDemand(String owner, DemandStatus from, DemandStatus to) {
+        record(DEMAND, owner, from, to);
+    }
+
+    @Override
+    public void recordQuote(String owner, QuoteStatus from, QuoteStatus to) {
+        record(QUOTE, owner, from, to);
+    }
+
+    @Override
+    public void removeOwner(String owner) {
+        Map<Key, Long> pending = pendingChanges();
+        if (pending != null) pending.keySet().removeIf(key -> key.owner().equals(owner));
+        jdbcTemplate.update("delete from status_counts where owner = ?", owner);
+    }
+
+    @Override
+    public Map<DemandStatus, Long> demandCounts(String owner) {
+        return counts(DemandStatus.class, "select status, total from status_counts where kind = ? and owner = ?", DEMAND, owner);
+    }
+
+    @Override
+    public Map<DemandStatus, Long> demandCounts() {
+        return counts(DemandStatus.class, "select status, sum(total) from status_counts where kind = ? group by status", DEMAND);
+    }
+
+    @Override
+    public Map<QuoteStatus, Long> quoteCounts(String owner) {
+        return counts(QuoteStatus.class, "select status, total from status_counts where kind = ? and owner = ?", QUOTE, owner);
+    }
+
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile-interval}", initialDelayString = "${app.statistics.reconcile-interval}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    @Override
+    public long reconcile() {
+        Long drift = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("lock table status_counts in exclusive mode");
+            Long counted = jdbcTemplate.queryForObject("""
+                    select coalesce(sum(abs(coalesce(c.total, 0) - coalesce(a.total, 0))), 0)
+                    from status_counts c
+                    full join (%s) a on a.kind = c.kind and a.owner = c.owner and a.status = c.status
+                    """.formatted(ACTUAL_COUNTS), Long.class);
+            jdbcTemplate.update("delete from status_counts");
+            jdbcTemplate.update("insert into status_counts (kind, owner, status, total) " + ACTUAL_COUNTS);
+            return counted;
+        });
+        if (drift != null && drift > 0) log.warn("Status counters drifted by {} from source rows, rebuilt them", drift);
+        else log.debug("Status counters match source rows, rebuilt them");
+        return drift == null ? 0 : drift;
+    }
+
+    private void record(String kind, String owner, Enum<?> from, Enum<?> to) {
+        if (from == to) return;
+
+        Map<Key, Long> pending = pendingChanges();
+        Map<Key, Long> changes = pending != null ? pending : new TreeMap<>(Key.ORDER);
+        if (from != null) changes.merge(new Key(kind, owner, from.name()), -1L, Long::sum);
+        if (to != null) changes.merge(new Key(kind, owner, to.name()), 1L, Long::sum);
+        if (pending == null) apply(changes);
+    }
+
+    /**
+     * The changes collected by the current transaction, registering the flush before its commit
+     * on first use. Null outside a transaction, where a change is applied right away.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Key, Long> pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return null;
+
+        Map<Key, Long> pending = (Map<Key, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) return pending;
+
+        Map<Key, Long> changes = new TreeMap<>(Key.ORDER);
+        TransactionSynchronizationManager.bindResource(this, changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                apply(changes);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StatusCounterServiceImpl.this);
+            }
+        });
+        return changes;
+    }
+
+    private void apply(Map<Key, Long> changes) {
+        List<Object[]> rows = changes.entrySet().stream()
+                .filter(change -> change.getValue() != 0)
+                .map(change -> new Object[]{change.getKey().kind(), change.getKey().owner(), change.getKey().status(), change.getValue()})
+                .toList();
+        if (rows.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate("""
+                insert into status_counts (kind, owner, status, total) values (?, ?, ?, ?)
+                on conflict (kind, owner, status) do update set total = status_counts.total + excluded.total
+                """, rows);
+    }
+
+    private <S extends Enum<S>> Map<S, Long> counts(Class<S> type, String sql, Object... args) {
+        Map<S, Long> counts = new EnumMap<>(type);
+        for (S status : type.getEnumConstants()) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query(sql, row -> {
+            counts.put(Enum.valueOf(type, row.getString(1)), row.getLong(2));
+        }, args);
+        return counts;
+    }
+
+    private record Key(String kind, String owner, String status) {
+
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::kind)
+                .thenComparing(Key::owner)
+                .thenComparing(Key::status);
+    }
+}
@@ -0,0 +1,78 @@
+package net.axel.gestibankbackend.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.axel.gestibankbackend.exception.domains.FileUploadException;
+import net.axel.gestibankbackend.exception.domains.UploadCapacityExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the bytes being staged or pushed to the storage backend at once, which bounds the
+ * buffers, disk and bandwidth taken by attachments. Sizes are counted in KiB permits; a file
+ * larger than the cap takes all of them and runs alone.
+ */
+@Component
+class UploadLimiter {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final Duration timeout;
+
+    UploadLimiter(@Value("${app.uploads.max-in-flight-bytes}") DataSize maxInFlight,
+                  @Value("${app.uploads.acquire-timeout}") Duration timeout,
+                  MeterRegistry registry) {
+        this.maxPermits = (int) Math.clamp(maxInFlight.toKilobytes(), 1, Integer.MAX_VALUE);
+        this.permits = new Semaphore(maxPermits, true);
+        this.timeout = timeout;
+
+        Gauge.builder("attachments.in-flight", () -> (maxPermits - permits.availablePermits()) * 1024L)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * For request threads: waits at most {@code app.uploads.acquire-timeout}, then rejects the
+     * upload rather than piling up requests.
+     */
+    Permit tryAcquire(long bytes) {
+        int count = permitsFor(bytes);
+        try {
+            if (!permits.tryAcquire(count, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new UploadCapacityExceededException("Too many uploads in progress, retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileUploadException("Interrupted while waiting for upload capacity", e);
+        }
+        return new Permit(permits, count);
+    }
+
+    Permit acquire(long bytes) {
+        int count = permitsFor(bytes);
+        try {
+            permits.acquire(count);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileUploadException("Interrupted while waiting for upload capacity", e);
+        }
+        return new Permit(permits, count);
+    }
+
+    private int permitsFor(long bytes) {
+        return (int) Math.clamp(Math.ceilDiv(bytes, 1024L), 1, maxPermits);
+    }
+
+    record Permit(Semaphore semaphore, int count) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            semaphore.release(count);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package net.axel.gestibankbackend.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed pool pushing staged attachments to the storage backend. The pool size bounds the
+ * concurrent remote uploads; in virtual thread mode the workers are virtual threads since they
+ * mostly wait on the network.
+ */
+@Component
+class UploadWorkers {
+
+    private final ExecutorService executor;
+
+    UploadWorkers(@Value("${app.uploads.workers}") int workers,
+                  @Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        ThreadFactory threads = virtual
+                ? Thread.ofVirtual().name("upload-", 0).factory()
+                : Thread.ofPlatform().name("upload-", 0).daemon().factory();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threads);
+    }
+
+    void submit(Runnable task) {
+        executor.execute(task);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -1,17 +1,33 @@
 package net.axel.gestibankbackend.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.projections.QuoteRowDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.user.responses.UserDirectoryDTO;
 import net.axel.gestibankbackend.domain.dtos.user.responses.UserResponseDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
 import net.axel.gestibankbackend.domain.entities.AppUser;
 import net.axel.gestibankbackend.exception.domains.ResourceNotFoundException;
+import net.axel.gestibankbackend.mapper.DemandMapper;
+import net.axel.gestibankbackend.mapper.QuoteMapper;
 import net.axel.gestibankbackend.mapper.UserMapper;
+import net.axel.gestibankbackend.repository.DemandRepository;
+import net.axel.gestibankbackend.repository.QuoteRepository;
 import net.axel.gestibankbackend.repository.UserRepository;
+import net.axel.gestibankbackend.security.service.PrincipalCache;
+import net.axel.gestibankbackend.security.service.TokenRevocationList;
+import net.axel.gestibankbackend.service.StatusCounterService;
 import net.axel.gestibankbackend.service.UserService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -23,30 +39,88 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository repository;
     private final UserMapper mapper;
+    private final DemandRepository demandRepository;
+    private final DemandMapper demandMapper;
+    private final QuoteRepository quoteRepository;
+    private final QuoteMapper quoteMapper;
+    private final StatusCounterService counters;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
 
     @Override
-    public List<UserResponseDTO> findAllUsers(int page, int size, String email) {
+    @Transactional(readOnly = true)
+    public List<UserDirectoryDTO> findAllUsers(int page, int size, String email) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
-        return repository.findAll(pageable)
-                .stream()
-                .filter(user -> !user.getEmail().equals(email))
-                .map(mapper::toResponseDTO)
-                .toList();
+        return repository.findDirectoryPage(email, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserDirectoryDTO> findUsersAfter(String after, int limit, String email) {
+        List<UserDirectoryDTO> users = repository.findDirectoryBefore(
+                email, CursorPageDTO.decode(after), CursorPageDTO.fetchLimit(limit)
+        );
+        return CursorPageDTO.of(users, limit, UserDirectoryDTO::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DemandSummaryDTO> findDemandHistory(Long id, String after, int limit) {
+        ensureExists(id);
+        List<DemandRowDTO> rows = demandRepository.findRowsByCreatorBefore(
+                id, CursorPageDTO.decode(after), CursorPageDTO.fetchLimit(limit)
+        );
+        return CursorPageDTO.of(rows, limit, DemandRowDTO::id)
+                .map(page -> page.stream().map(demandMapper::toSummaryDto).toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<QuoteSummaryDTO> findQuoteHistory(Long id, String after, int limit) {
+        ensureExists(id);
+        List<QuoteRowDTO> rows = quoteRepository.findRowsByCreatorBefore(
+                id, CursorPageDTO.decode(after), CursorPageDTO.fetchLimit(limit)
+        );
+        return CursorPageDTO.of(rows, limit, QuoteRowDTO::id)
+                .map(page -> page.stream().map(quoteMapper::mapToSummary).toList());
     }
 
     @Override
     public void remove(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("User" + id);
-        }
-        repository.deleteById(id);
+        AppUser user = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", id));
+        repository.delete(user);
+        counters.removeOwner(user.getEmail());
+
+        // Before the commit a concurrent request could cache the user again, and a rollback
+        // would leave them revoked.
+        String email = user.getEmail();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                principalCache.invalidate(email);
+                revocationList.revoke(id);
+            }
+        });
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponseDTO findUser(String email) {
         AppUser user = repository.findByEmail(email).
                 orElseThrow(() -> new ResourceNotFoundException("User", email));
 
         return mapper.toResponseDTO(user);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDTO findProfileVersion(String email) {
+        return repository.findProfileVersion(email)
+                .orElseThrow(() -> new ResourceNotFoundException("User", email));
+    }
+
+    private void ensureExists(Long id) {
+        if (!repository.existsById(id)) throw new ResourceNotFoundException("User", id);
+    }
 }
@@ -0,0 +1,38 @@
+package net.axel.gestibankbackend.web;
+
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GETs answered from a resource's validators: a client still holding the current
+ * representation gets a 304 and the resource is never loaded nor mapped.
+ */
+final class ConditionalResponses {
+
+    /**
+     * Clients may keep a copy but must revalidate it on every use. Setting it also keeps Spring
+     * Security from sending its default no-store, which would stop them from keeping one.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Sets ETag and Last-Modified, then answers 304 when If-None-Match matches, or when no ETag
+     * was sent and If-Modified-Since is not older than the resource. The body is only built
+     * otherwise; a write landing in between just makes the next request miss.
+     */
+    static <T> ResponseEntity<T> ifModified(WebRequest request, ResourceVersionDTO version, Supplier<T> body) {
+        long lastModified = version.lastModified() == null ? -1 : version.lastModified().toEpochMilli();
+        if (request.checkNotModified(version.etag(), lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+    }
+}
@@ -1,19 +1,38 @@
 package net.axel.gestibankbackend.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandRequestDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandSearchDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandUpdateDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandValidateDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandImportResultDTO;
 import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandResponseDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSearchResultDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.export.ExportRangeDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
 import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.enums.DataFormat;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+import net.axel.gestibankbackend.service.DemandImportService;
 import net.axel.gestibankbackend.service.DemandService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,6 +44,19 @@ public class DemandController {
     public final static String CONTROLLER_PATH = "api/v1/demands";
 
     private final DemandService service;
+    private final DemandImportService importService;
+    private final ObjectMapper objectMapper;
+
+    private static final List<StreamingResponses.Column<DemandResponseDTO>> EXPORT_COLUMNS = List.of(
+            new StreamingResponses.Column<>("id", DemandResponseDTO::id),
+            new StreamingResponses.Column<>("title", DemandResponseDTO::title),
+            new StreamingResponses.Column<>("description", DemandResponseDTO::description),
+            new StreamingResponses.Column<>("status", DemandResponseDTO::status),
+            new StreamingResponses.Column<>("created_at", DemandResponseDTO::createdAt),
+            new StreamingResponses.Column<>("created_by", demand -> demand.createdBy() == null ? null : demand.createdBy().email()),
+            new StreamingResponses.Column<>("article_count", demand -> demand.articles().size()),
+            new StreamingResponses.Column<>("attached_file", DemandResponseDTO::attachedFile)
+    );
 
     @PreAuthorize("hasAnyRole('AGENT', 'RESPONSIBLE')")
     @PostMapping
@@ -34,6 +66,28 @@ public class DemandController {
         return new ResponseEntity<>(demand, HttpStatus.CREATED);
     }
 
+    @PreAuthorize("hasAnyRole('AGENT', 'RESPONSIBLE')")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<StreamingResponseBody> importCsv(InputStream body, Principal connectedUser) {
+        return importDemands(body, DataFormat.CSV, connectedUser.getName());
+    }
+
+    @PreAuthorize("hasAnyRole('AGENT', 'RESPONSIBLE')")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importNdjson(InputStream body, Principal connectedUser) {
+        return importDemands(body, DataFormat.NDJSON, connectedUser.getName());
+    }
+
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") DataFormat format,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportRangeDTO range = ExportRangeDTO.of(from, to);
+        return StreamingResponses.export("demands", format, objectMapper, EXPORT_COLUMNS,
+                sink -> service.export(range, sink));
+    }
+
     @GetMapping
     public ResponseEntity<List<DemandResponseDTO>> getAllDemands(@RequestParam(defaultValue = "0") int page,
                                                                  @RequestParam(defaultValue = "10") int size) {
@@ -41,11 +95,72 @@ public class DemandController {
         return ResponseEntity.ok(demand);
     }
 
+    /**
+     * {@code view=summary} on a list or a detail answers with {@link DemandSummaryDTO}: the
+     * demand row and its creator only, articles and comments are neither fetched nor sent.
+     */
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<DemandSummaryDTO>> getAllDemandSummaries(@RequestParam(defaultValue = "0") int page,
+                                                                        @RequestParam(defaultValue = "10") int size) {
+        List<DemandSummaryDTO> demands = service.findAllSummaries(page, size);
+        return ResponseEntity.ok(demands);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<DemandResponseDTO>> getDemandsAfter(@RequestParam(required = false) String after,
+                                                                            @RequestParam int limit) {
+        CursorPageDTO<DemandResponseDTO> demands = service.findAfter(after, limit);
+        return ResponseEntity.ok(demands);
+    }
+
+    @GetMapping(params = {"limit", "view=summary"})
+    public ResponseEntity<CursorPageDTO<DemandSummaryDTO>> getDemandSummariesAfter(@RequestParam(required = false) String after,
+                                                                                   @RequestParam int limit) {
+        CursorPageDTO<DemandSummaryDTO> demands = service.findSummariesAfter(after, limit);
+        return ResponseEntity.ok(demands);
+    }
+
+    @PreAuthorize("hasAnyRole('AGENT', 'RESPONSIBLE', 'TECHNICIAN', 'PROVIDER')")
+    @GetMapping("/inbox")
+    public ResponseEntity<CursorPageDTO<DemandResponseDTO>> getInbox(@RequestParam(required = false) String after,
+                                                                     @RequestParam(defaultValue = "20") int limit,
+                                                                     Principal connectedUser) {
+        CursorPageDTO<DemandResponseDTO> demands = service.findInbox(connectedUser.getName(), after, limit);
+        return ResponseEntity.ok(demands);
+    }
+
+    @PreAuthorize("hasAnyRole('AGENT', 'RESPONSIBLE', 'TECHNICIAN', 'PROVIDER')")
+    @GetMapping(value = "/inbox", params = "view=summary")
+    public ResponseEntity<CursorPageDTO<DemandSummaryDTO>> getInboxSummaries(@RequestParam(required = false) String after,
+                                                                             @RequestParam(defaultValue = "20") int limit,
+                                                                             Principal connectedUser) {
+        CursorPageDTO<DemandSummaryDTO> demands = service.findInboxSummaries(connectedUser.getName(), after, limit);
+        return ResponseEntity.ok(demands);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<DemandSearchResultDTO> search(@RequestParam String q,
+                                                        @RequestParam(required = false) DemandStatus status,
+                                                        @RequestParam(required = false) String creator,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        @RequestParam(required = false) QuoteStatus quoteStatus,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        DemandSearchDTO dto = DemandSearchDTO.of(q, status, creator, from, to, quoteStatus, page, size);
+        return ResponseEntity.ok(service.search(dto));
+    }
+
     @PreAuthorize("hasAnyRole('AGENT', 'RESPONSIBLE')")
     @GetMapping("/{id}")
-    public ResponseEntity<DemandResponseDTO> getDemandById(@PathVariable("id") Long id) {
-        DemandResponseDTO demand = service.findById(id);
-        return ResponseEntity.ok(demand);
+    public ResponseEntity<DemandResponseDTO> getDemandById(@PathVariable("id") Long id, WebRequest request) {
+        return ConditionalResponses.ifModified(request, service.findVersion(id), () -> service.findById(id));
+    }
+
+    @PreAuthorize("hasAnyRole('AGENT', 'RESPONSIBLE')")
+    @GetMapping(value = "/{id}", params = "view=summary")
+    public ResponseEntity<DemandSummaryDTO> getDemandSummaryById(@PathVariable("id") Long id, WebRequest request) {
+        return ConditionalResponses.ifModified(request, service.findVersion(id), () -> service.findSummaryById(id));
     }
 
     @PreAuthorize("hasAnyRole('RESPONSIBLE', 'TECHNICIAN')")
@@ -63,4 +178,17 @@ public class DemandController {
         DemandResponseDTO demand = service.update(dto, connectedUser.getName());
         return ResponseEntity.ok(demand);
     }
+
+    private ResponseEntity<StreamingResponseBody> importDemands(InputStream body, DataFormat format, String email) {
+        StreamingResponseBody report = StreamingResponses.<DemandImportResultDTO>ndjson(objectMapper, sink -> {
+            try {
+                importService.importDemands(body, format, email, sink);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(report);
+    }
 }
@@ -0,0 +1,115 @@
+package net.axel.gestibankbackend.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.exception.domains.ResourceNotFoundException;
+import net.axel.gestibankbackend.service.impl.LocalFileUploader;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serves objects of the local storage backend. Objects are immutable, so they are cached for
+ * good and revalidated by their hash. Bodies are written with Tomcat's sendfile when the
+ * connector supports it, otherwise with {@link FileChannel#transferTo}; a single byte range is
+ * honoured, multiple ranges get the whole file.
+ * <p>
+ * Anyone can pick the file name in the url, so it never makes the API origin render active
+ * content: only passive types are served inline, anything else is an octet-stream download, and
+ * browsers are told not to sniff.
+ */
+@RestController
+@RequestMapping(FileController.CONTROLLER_PATH)
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+
+@RequiredArgsConstructor
+public class FileController {
+
+    public final static String CONTROLLER_PATH = "api/v1/files";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Set<MediaType> INLINE_TYPES = Set.of(
+            MediaType.APPLICATION_PDF, MediaType.IMAGE_PNG, MediaType.IMAGE_JPEG, MediaType.IMAGE_GIF,
+            MediaType.valueOf("image/webp"), MediaType.TEXT_PLAIN
+    );
+
+    private final LocalFileUploader storage;
+
+    @GetMapping("/{hash}/{filename}")
+    public void download(@PathVariable("hash") String hash,
+                         @PathVariable("filename") String filename,
+                         @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Path file = storage.find(hash)
+                .orElseThrow(() -> new ResourceNotFoundException("File", hash));
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + hash + "\"")) return;
+
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+        List<HttpRange> ranges = rangeHeader == null ? List.of() : HttpRange.parseRanges(rangeHeader);
+        if (ranges.size() == 1) {
+            start = ranges.getFirst().getRangeStart(length);
+            end = ranges.getFirst().getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        MediaType type = MediaTypeFactory.getMediaType(filename)
+                .filter(INLINE_TYPES::contains)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        ContentDisposition.Builder disposition = MediaType.APPLICATION_OCTET_STREAM.equals(type)
+                ? ContentDisposition.attachment()
+                : ContentDisposition.inline();
+        response.setContentType(type.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.filename(filename).build().toString());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        response.setContentLengthLong(end - start + 1);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = start; position <= end; ) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package net.axel.gestibankbackend.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.dtos.export.ExportRangeDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteManageDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteRequestDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteUpdateDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.requests.QuoteValidateDTO;
 import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteResponseDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteSummaryDTO;
+import net.axel.gestibankbackend.domain.enums.DataFormat;
 import net.axel.gestibankbackend.service.QuoteService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,6 +34,17 @@ public class QuoteController {
     public final static String CONTROLLER_PATH = "api/v1/quotes";
 
     private final QuoteService service;
+    private final ObjectMapper objectMapper;
+
+    private static final List<StreamingResponses.Column<QuoteResponseDTO>> EXPORT_COLUMNS = List.of(
+            new StreamingResponses.Column<>("id", QuoteResponseDTO::id),
+            new StreamingResponses.Column<>("demand_id", quote -> quote.demand() == null ? null : quote.demand().id()),
+            new StreamingResponses.Column<>("demand_title", quote -> quote.demand() == null ? null : quote.demand().title()),
+            new StreamingResponses.Column<>("status", QuoteResponseDTO::status),
+            new StreamingResponses.Column<>("total_amount", QuoteResponseDTO::totalAmount),
+            new StreamingResponses.Column<>("created_by", quote -> quote.createdBy() == null ? null : quote.createdBy().email()),
+            new StreamingResponses.Column<>("bon_command", QuoteResponseDTO::bonCommand)
+    );
 
     @PreAuthorize("hasRole('PROVIDER')")
     @PostMapping
@@ -51,11 +71,66 @@ public class QuoteController {
         return ResponseEntity.ok(quotes);
     }
 
+    @PreAuthorize("hasAnyRole('PROVIDER', 'TECHNICIAN', 'MANAGER')")
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<QuoteSummaryDTO>> findAllSummaries(@RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(defaultValue = "10") int size) {
+        List<QuoteSummaryDTO> quotes = service.findAllSummaries(page, size);
+        return ResponseEntity.ok(quotes);
+    }
+
+    @PreAuthorize("hasAnyRole('PROVIDER', 'TECHNICIAN', 'MANAGER')")
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<QuoteResponseDTO>> findAfter(@RequestParam(required = false) String after,
+                                                                     @RequestParam int limit) {
+        CursorPageDTO<QuoteResponseDTO> quotes = service.findQuotesAfter(after, limit);
+        return ResponseEntity.ok(quotes);
+    }
+
+    @PreAuthorize("hasAnyRole('PROVIDER', 'TECHNICIAN', 'MANAGER')")
+    @GetMapping(params = {"limit", "view=summary"})
+    public ResponseEntity<CursorPageDTO<QuoteSummaryDTO>> findSummariesAfter(@RequestParam(required = false) String after,
+                                                                             @RequestParam int limit) {
+        CursorPageDTO<QuoteSummaryDTO> quotes = service.findSummariesAfter(after, limit);
+        return ResponseEntity.ok(quotes);
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    @GetMapping("/inbox")
+    public ResponseEntity<CursorPageDTO<QuoteResponseDTO>> findInbox(@RequestParam(required = false) String after,
+                                                                     @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<QuoteResponseDTO> quotes = service.findInbox(after, limit);
+        return ResponseEntity.ok(quotes);
+    }
+
+    @PreAuthorize("hasRole('MANAGER')")
+    @GetMapping(value = "/inbox", params = "view=summary")
+    public ResponseEntity<CursorPageDTO<QuoteSummaryDTO>> findInboxSummaries(@RequestParam(required = false) String after,
+                                                                             @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<QuoteSummaryDTO> quotes = service.findInboxSummaries(after, limit);
+        return ResponseEntity.ok(quotes);
+    }
+
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") DataFormat format,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ExportRangeDTO range = ExportRangeDTO.of(from, to);
+        return StreamingResponses.export("quotes", format, objectMapper, EXPORT_COLUMNS,
+                sink -> service.export(range, sink));
+    }
+
     @PreAuthorize("hasAnyRole('PROVIDER', 'TECHNICIAN', 'MANAGER')")
     @GetMapping("/{id}")
-    public ResponseEntity<QuoteResponseDTO> findById(@PathVariable("id") Long id) {
-        QuoteResponseDTO quote = service.findById(id);
-        return ResponseEntity.ok(quote);
+    public ResponseEntity<QuoteResponseDTO> findById(@PathVariable("id") Long id, WebRequest request) {
+        return ConditionalResponses.ifModified(request, service.findVersion(id), () -> service.findById(id));
+    }
+
+    @PreAuthorize("hasAnyRole('PROVIDER', 'TECHNICIAN', 'MANAGER')")
+    @GetMapping(value = "/{id}", params = "view=summary")
+    public ResponseEntity<QuoteSummaryDTO> findSummaryById(@PathVariable("id") Long id, WebRequest request) {
+        return ConditionalResponses.ifModified(request, service.findVersion(id), () -> service.findSummaryById(id));
     }
 
     @PreAuthorize("hasRole('TECHNICIAN')")
@@ -0,0 +1,97 @@
+package net.axel.gestibankbackend.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.axel.gestibankbackend.domain.enums.DataFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Response bodies written item by item while the producer runs, nothing is collected first.
+ * The producer receives a sink and pushes every item to it, usually from an open cursor.
+ */
+final class StreamingResponses {
+
+    static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private StreamingResponses() {
+    }
+
+    record Column<T>(String header, Function<T, Object> value) {
+    }
+
+    static <T> StreamingResponseBody ndjson(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        return output -> producer.accept(item -> {
+            try {
+                output.write(objectMapper.writeValueAsBytes(item));
+                output.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    static <T> StreamingResponseBody csv(List<Column<T>> columns, Consumer<Consumer<T>> producer) {
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writeRow(writer, columns.stream().<Object>map(Column::header).toList());
+            producer.accept(item -> {
+                try {
+                    writeRow(writer, columns.stream().map(column -> column.value().apply(item)).toList());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> export(String name, DataFormat format, ObjectMapper objectMapper,
+                                                            List<Column<T>> columns, Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = format == DataFormat.CSV
+                ? csv(columns, producer)
+                : ndjson(objectMapper, producer);
+        String filename = name + (format == DataFormat.CSV ? ".csv" : ".ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(format == DataFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private static void writeRow(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) writer.write(',');
+            writer.write(escape(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 quoting. Text cells starting with a formula character are prefixed with a quote
+     * so spreadsheets opening the export don't evaluate user input.
+     */
+    static String escape(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
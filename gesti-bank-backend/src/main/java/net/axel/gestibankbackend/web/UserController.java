@@ -1,11 +1,16 @@
 package net.axel.gestibankbackend.web;
 
 import lombok.RequiredArgsConstructor;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.user.responses.UserDirectoryDTO;
 import net.axel.gestibankbackend.domain.dtos.user.responses.UserResponseDTO;
 import net.axel.gestibankbackend.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.Principal;
 import java.util.List;
@@ -22,13 +27,40 @@ public class UserController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<UserResponseDTO>> findAllUsers(@RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<List<UserDirectoryDTO>> findAllUsers(@RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             Principal connectedUser) {
-        List<UserResponseDTO> users = service.findAllUsers(page, size, connectedUser.getName());
+        List<UserDirectoryDTO> users = service.findAllUsers(page, size, connectedUser.getName());
         return ResponseEntity.ok(users);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(params = "limit")
+    public ResponseEntity<CursorPageDTO<UserDirectoryDTO>> findUsersAfter(@RequestParam(required = false) String after,
+                                                                          @RequestParam int limit,
+                                                                          Principal connectedUser) {
+        CursorPageDTO<UserDirectoryDTO> users = service.findUsersAfter(after, limit, connectedUser.getName());
+        return ResponseEntity.ok(users);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{id}/demands")
+    public ResponseEntity<CursorPageDTO<DemandSummaryDTO>> findDemandHistory(@PathVariable("id") Long id,
+                                                                             @RequestParam(required = false) String after,
+                                                                             @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<DemandSummaryDTO> demands = service.findDemandHistory(id, after, limit);
+        return ResponseEntity.ok(demands);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{id}/quotes")
+    public ResponseEntity<CursorPageDTO<QuoteSummaryDTO>> findQuoteHistory(@PathVariable("id") Long id,
+                                                                           @RequestParam(required = false) String after,
+                                                                           @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<QuoteSummaryDTO> quotes = service.findQuoteHistory(id, after, limit);
+        return ResponseEntity.ok(quotes);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> removeUser(@PathVariable("id") Long id) {
@@ -37,8 +69,8 @@ public class UserController {
     }
 
     @GetMapping("/my_profile")
-    public ResponseEntity<UserResponseDTO> getConnectedUser(Principal connectedUser) {
-        UserResponseDTO user = service.findUser(connectedUser.getName());
-        return ResponseEntity.ok(user);
+    public ResponseEntity<UserResponseDTO> getConnectedUser(Principal connectedUser, WebRequest request) {
+        String email = connectedUser.getName();
+        return ConditionalResponses.ifModified(request, service.findProfileVersion(email), () -> service.findUser(email));
     }
 }
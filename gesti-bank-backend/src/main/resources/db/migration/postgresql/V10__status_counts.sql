@@ -0,0 +1,23 @@
+-- Dashboard counters per creator and status. Every write adds its transition in the same
+-- transaction as the row it counts, so all instances read the same figures. kind is DEMAND
+-- or QUOTE, owner the creator's email.
+
+create table status_counts (
+    kind   varchar(16)  not null,
+    owner  varchar(255) not null,
+    status varchar(255) not null,
+    total  bigint       not null,
+    primary key (kind, owner, status)
+);
+
+insert into status_counts (kind, owner, status, total)
+select 'DEMAND', u.email, d.status, count(*)
+from demands d join users u on u.id = d.created_by_id
+where d.status is not null
+group by u.email, d.status;
+
+insert into status_counts (kind, owner, status, total)
+select 'QUOTE', u.email, q.status, count(*)
+from quotes q join users u on u.id = q.created_by_id
+where q.status is not null
+group by u.email, q.status;
@@ -0,0 +1,65 @@
+-- Schema as Hibernate generated it while ddl-auto owned the database: identity ids and no
+-- attachment states. Databases created that way are baselined at this version and only
+-- receive the migrations after it, so this file must keep matching what ddl-auto produced.
+
+create table users (
+    created_at timestamp(6) with time zone,
+    id bigint generated by default as identity,
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    role varchar(255) check (role in ('AGENT','RESPONSIBLE','TECHNICIAN','PROVIDER','MANAGER','ADMIN')),
+    primary key (id)
+);
+
+create table demands (
+    created_at timestamp(6) with time zone,
+    created_by_id bigint,
+    id bigint generated by default as identity,
+    attached_file varchar(255),
+    description varchar(255),
+    status varchar(255) check (status in ('CREATED','RESPONSIBLE_APPROVED','RESPONSIBLE_REJECTED','TECHNICIAN_APPROVED','TECHNICIAN_REJECTED','IN_PROGRESS','DONE')),
+    title varchar(255),
+    primary key (id)
+);
+
+create table articles (
+    price float(53),
+    quantity integer,
+    demand_id bigint,
+    id bigint generated by default as identity,
+    description varchar(255),
+    name varchar(255),
+    primary key (id)
+);
+
+create table quotes (
+    total_amount float(53),
+    created_at timestamp(6) with time zone,
+    created_by_id bigint,
+    demand_id bigint,
+    id bigint generated by default as identity,
+    bon_command varchar(255),
+    status varchar(255) check (status in ('CREATED','APPROVED','REJECTED','IN_PROGRESS','DONE')),
+    primary key (id)
+);
+
+create table comments (
+    type smallint check (type between 0 and 1),
+    created_at timestamp(6) with time zone,
+    created_by_id bigint,
+    demand_id bigint,
+    id bigint generated by default as identity,
+    quote_id bigint,
+    content varchar(255),
+    primary key (id)
+);
+
+alter table articles add constraint fk2ec5500n92rvdl85t1cle1yay foreign key (demand_id) references demands;
+alter table comments add constraint fkakkm6qfydu7vgnfne1yo0xmed foreign key (created_by_id) references users;
+alter table comments add constraint fkfg1wunbqbfw8te6ifpigd5q3e foreign key (demand_id) references demands;
+alter table comments add constraint fkpb86tbuk3pc05gf2qrct0p2jv foreign key (quote_id) references quotes;
+alter table demands add constraint fk2tdqt2vwtep16lt42i4e59y6e foreign key (created_by_id) references users;
+alter table quotes add constraint fk2h21wkm8b7h6rfwiox1hrcy4k foreign key (created_by_id) references users;
+alter table quotes add constraint fkrgwwbad7tk8j90hre1we0tryl foreign key (demand_id) references demands;
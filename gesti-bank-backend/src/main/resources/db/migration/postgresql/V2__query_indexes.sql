@@ -0,0 +1,20 @@
+-- Indexes for the lookups behind every request. QueryPlanTest fails when one of the
+-- repository queries it covers falls back to a sequential scan.
+
+-- Authentication and every service resolve the caller by email.
+create unique index users_email_key on users (email);
+
+-- Per-creator status counts and inbox filters, exports by creation date.
+create index demands_created_by_status_idx on demands (created_by_id, status);
+create index demands_created_at_idx on demands (created_at);
+
+create index quotes_created_by_status_idx on quotes (created_by_id, status);
+create index quotes_demand_idx on quotes (demand_id);
+create index quotes_created_at_idx on quotes (created_at);
+
+create index articles_demand_idx on articles (demand_id);
+
+-- A comment hangs off either a demand or a quote, each index only holds its own rows.
+create index comments_demand_idx on comments (demand_id) where demand_id is not null;
+create index comments_quote_idx on comments (quote_id) where quote_id is not null;
+create index comments_created_by_idx on comments (created_by_id);
@@ -0,0 +1,66 @@
+-- Full-text search over a demand, its articles and its comments. Every document is folded into
+-- demands.search_vector by triggers, so a search is a single GIN lookup on one table. Weights
+-- rank title over description over articles over comments. Demands are written in French and
+-- English, the 'simple' configuration lower-cases words without language-specific stemming.
+
+alter table demands add column search_vector tsvector;
+
+create function demand_search_vector(bigint, text, text) returns tsvector
+    language sql stable as
+$$
+select setweight(to_tsvector('simple', coalesce($2, '')), 'A')
+    || setweight(to_tsvector('simple', coalesce($3, '')), 'B')
+    || setweight(to_tsvector('simple', coalesce(
+        (select string_agg(concat_ws(' ', a.name, a.description), ' ') from articles a where a.demand_id = $1), '')), 'C')
+    || setweight(to_tsvector('simple', coalesce(
+        (select string_agg(c.content, ' ') from comments c where c.demand_id = $1), '')), 'D')
+$$;
+
+update demands set search_vector = demand_search_vector(id, title, description);
+
+create index demands_search_idx on demands using gin (search_vector);
+
+create function demands_search_refresh() returns trigger
+    language plpgsql as
+$$
+begin
+    new.search_vector := demand_search_vector(new.id, new.title, new.description);
+    return new;
+end
+$$;
+
+create trigger demands_search_refresh
+    before insert or update of title, description on demands
+    for each row execute function demands_search_refresh();
+
+-- Statement level: a batch of articles refreshes each of their demands once.
+create function demands_search_refresh_children() returns trigger
+    language plpgsql as
+$$
+begin
+    update demands d
+    set search_vector = demand_search_vector(d.id, d.title, d.description)
+    where d.id in (select changed.demand_id from changed where changed.demand_id is not null);
+    return null;
+end
+$$;
+
+create trigger articles_search_insert
+    after insert on articles referencing new table as changed
+    for each statement execute function demands_search_refresh_children();
+
+create trigger articles_search_update
+    after update on articles referencing new table as changed
+    for each statement execute function demands_search_refresh_children();
+
+create trigger articles_search_delete
+    after delete on articles referencing old table as changed
+    for each statement execute function demands_search_refresh_children();
+
+create trigger comments_search_insert
+    after insert on comments referencing new table as changed
+    for each statement execute function demands_search_refresh_children();
+
+create trigger comments_search_delete
+    after delete on comments referencing old table as changed
+    for each statement execute function demands_search_refresh_children();
@@ -0,0 +1,12 @@
+-- Inboxes walk one slice of a table by descending id, each index below serves a slice in
+-- index order so a page stops after limit + 1 rows.
+
+-- Agent: own demands.
+create index demands_created_by_id_idx on demands (created_by_id, id);
+
+-- Responsible, technician and provider: demands at a given step. The provider's own quotes,
+-- which hide demands already quoted, come from quotes_created_by_status_idx.
+create index demands_status_id_idx on demands (status, id);
+
+-- Manager: approved quotes.
+create index quotes_status_id_idx on quotes (status, id);
@@ -0,0 +1,3 @@
+-- A provider's quote history, walked by descending id like the demand inbox of an agent
+-- (demands_created_by_id_idx).
+create index quotes_created_by_id_idx on quotes (created_by_id, id);
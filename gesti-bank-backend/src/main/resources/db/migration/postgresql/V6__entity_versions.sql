@@ -0,0 +1,11 @@
+-- Optimistic locking and HTTP validators: every write bumps version, the ETag of a resource is
+-- built from the versions it renders and Last-Modified from updated_at.
+
+alter table users add column version bigint not null default 0, add column updated_at timestamp(6) with time zone;
+update users set updated_at = created_at;
+
+alter table demands add column version bigint not null default 0, add column updated_at timestamp(6) with time zone;
+update demands set updated_at = created_at;
+
+alter table quotes add column version bigint not null default 0, add column updated_at timestamp(6) with time zone;
+update quotes set updated_at = created_at;
@@ -0,0 +1,23 @@
+-- Ids move from identity columns to pooled sequences (allocation size 50). Each sequence starts
+-- past the highest id its table holds, like IdSequenceInitializer does after a bulk load, and
+-- the identity goes away so nothing but the sequence hands out ids.
+
+create sequence users_seq start with 1 increment by 50;
+select setval('users_seq', max(id) + 50) from users having max(id) is not null;
+alter table users alter column id drop identity if exists;
+
+create sequence demands_seq start with 1 increment by 50;
+select setval('demands_seq', max(id) + 50) from demands having max(id) is not null;
+alter table demands alter column id drop identity if exists;
+
+create sequence articles_seq start with 1 increment by 50;
+select setval('articles_seq', max(id) + 50) from articles having max(id) is not null;
+alter table articles alter column id drop identity if exists;
+
+create sequence quotes_seq start with 1 increment by 50;
+select setval('quotes_seq', max(id) + 50) from quotes having max(id) is not null;
+alter table quotes alter column id drop identity if exists;
+
+create sequence comments_seq start with 1 increment by 50;
+select setval('comments_seq', max(id) + 50) from comments having max(id) is not null;
+alter table comments alter column id drop identity if exists;
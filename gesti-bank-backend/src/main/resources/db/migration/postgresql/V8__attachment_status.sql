@@ -0,0 +1,9 @@
+-- Attachments are staged locally and uploaded in the background, the status tells the row
+-- whether its file reached the store. Rows written before carry no status, like a demand or
+-- quote saved without a file.
+
+alter table demands add column attachment_status varchar(255)
+    check (attachment_status in ('PENDING','UPLOADED','FAILED'));
+
+alter table quotes add column bon_command_status varchar(255)
+    check (bon_command_status in ('PENDING','UPLOADED','FAILED'));
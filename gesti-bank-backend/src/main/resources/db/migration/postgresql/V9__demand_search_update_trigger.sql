@@ -0,0 +1,15 @@
+-- Hibernate updates every column of a demand, so "update of title, description" fired on each
+-- status change and rebuilt the vector from the articles and comments. On update the vector is
+-- now only rebuilt when the title or description really changed.
+
+drop trigger demands_search_refresh on demands;
+
+create trigger demands_search_insert
+    before insert on demands
+    for each row execute function demands_search_refresh();
+
+create trigger demands_search_update
+    before update of title, description on demands
+    for each row
+    when (old.title is distinct from new.title or old.description is distinct from new.description)
+    execute function demands_search_refresh();
@@ -0,0 +1,44 @@
+package net.axel.gestibankbackend.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionLimitingDataSourceTest {
+
+    private final ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(h2(), 2, Duration.ofMillis(50));
+
+    @Test
+    void getConnection_waitsThenFailsWhenAllPermitsAreOut() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThat(first.isValid(1)).isTrue();
+            assertThat(dataSource.getAvailablePermits()).isZero();
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void close_releasesOnlyOnce() throws Exception {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        try (Connection other = dataSource.getConnection()) {
+            assertThat(connection).isEqualTo(connection).isNotEqualTo(other);
+        }
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
@@ -0,0 +1,71 @@
+package net.axel.gestibankbackend.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ReplicaRoutingTest.Config.class, properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.datasource.replica.url=" + ReplicaRoutingTest.REPLICA,
+        "app.datasource.max-concurrent-connections=4",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ReplicaRoutingTest {
+
+    static final String PRIMARY = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void markDatabases() {
+        new JdbcTemplate(new DriverManagerDataSource(PRIMARY, "sa", "")).execute("create table if not exists marker as select 'primary' as name");
+        new JdbcTemplate(new DriverManagerDataSource(REPLICA, "sa", "")).execute("create table if not exists marker as select 'replica' as name");
+    }
+
+    @Test
+    void readOnlyTransactions_runOnReplica() {
+        assertThat(database(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactions_stayOnPrimaryAfterReadOnlyOnes() {
+        assertThat(database(true)).isEqualTo("replica");
+        assertThat(database(false)).isEqualTo("primary");
+        assertThat(database(true)).isEqualTo("replica");
+    }
+
+    private String database(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                (String) entityManager.createNativeQuery("select name from marker").getSingleResult());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @Import(DataSourceConfig.class)
+    static class Config {
+    }
+}
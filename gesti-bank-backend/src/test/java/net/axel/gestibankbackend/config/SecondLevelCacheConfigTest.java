@@ -0,0 +1,137 @@
+package net.axel.gestibankbackend.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Article;
+import net.axel.gestibankbackend.domain.entities.Comment;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.CommentType;
+import net.axel.gestibankbackend.repository.DemandRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each step in its own committed transaction, the way requests do: entries written or
+ * evicted by an open transaction stay locked in the cache until it completes.
+ */
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private DemandRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterBinder secondLevelCacheMetrics;
+
+    private TransactionTemplate transaction;
+
+    private Statistics statistics;
+
+    private Long demandId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        demandId = transaction.execute(status -> {
+            AppUser agent = AppUser.register("agent", "agent", UUID.randomUUID() + "@chaabi.com", "secret", AppRole.AGENT);
+            entityManager.persist(agent);
+            Demand demand = Demand.createDemand("demand", "description", null, agent);
+            entityManager.persist(demand);
+            for (int i = 0; i < 3; i++) {
+                entityManager.persist(Article.createArticle("article " + i, "description", i + 1, demand));
+            }
+            for (int i = 0; i < 2; i++) {
+                entityManager.persist(Comment.createComment("comment " + i, CommentType.APPROVED, agent).setDemand(demand));
+            }
+            return demand.getId();
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_servesArticlesAndCommentsFromCacheOnceWarm() {
+        load();
+        statistics.clear();
+
+        Demand demand = load();
+
+        assertThat(demand.getArticles()).hasSize(3);
+        assertThat(demand.getComments()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1 + 3 + 1 + 2);
+    }
+
+    @Test
+    void addingComment_evictsTheCachedCollection() {
+        load();
+        transaction.executeWithoutResult(status -> {
+            Demand demand = repository.findById(demandId).orElseThrow();
+            entityManager.persist(Comment.createComment("late", CommentType.APPROVED, demand.getCreatedBy()).setDemand(demand));
+        });
+
+        assertThat(load().getComments()).hasSize(3);
+    }
+
+    @Test
+    void metrics_reportHitsPerRegion() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+        ToDoubleFunction<String> hits = region ->
+                registry.get("cache.gets").tags("cache", region, "result", "hit").functionCounter().count();
+
+        load();
+        double collectionHits = hits.applyAsDouble("demand-articles");
+        double articleHits = hits.applyAsDouble("articles");
+        load();
+
+        assertThat(hits.applyAsDouble("demand-articles") - collectionHits).isEqualTo(1);
+        assertThat(hits.applyAsDouble("articles") - articleHits).isEqualTo(3);
+    }
+
+    private Demand load() {
+        return transaction.execute(status -> {
+            Demand demand = repository.findById(demandId).orElseThrow();
+            demand.getArticles().size();
+            demand.getComments().size();
+            return demand;
+        });
+    }
+}
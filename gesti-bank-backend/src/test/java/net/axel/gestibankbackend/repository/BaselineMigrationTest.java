@@ -0,0 +1,75 @@
+package net.axel.gestibankbackend.repository;
+
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts from a database created by ddl-auto before Flyway owned the schema, lets Flyway
+ * baseline it at V1 and migrate it, then boots Hibernate with ddl-auto validate on top.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+class BaselineMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16")
+            .withInitScript("db/ddl-auto-schema.sql");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DemandRepository demandRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_baselinesTheExistingSchemaAndAppliesEveryLaterVersion() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertThat(applied[0].getVersion().getVersion()).isEqualTo("1");
+        assertThat(applied[0].getType().isBaseline()).isTrue();
+        assertThat(applied.length).isGreaterThan(1);
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.validateWithResult().validationSuccessful).isTrue();
+    }
+
+    @Test
+    void ids_comeFromSequencesPastTheRowsWrittenWithIdentityIds() {
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.columns where column_name = 'id' and is_identity = 'YES'",
+                Long.class)).isZero();
+
+        AppUser user = userRepository.saveAndFlush(
+                AppUser.register("new", "user", "new@chaabi.com", "secret", AppRole.AGENT));
+        Demand demand = demandRepository.saveAndFlush(
+                Demand.createDemand("chair", "a chair for the branch", null, user));
+
+        assertThat(user.getId()).isGreaterThan(3L);
+        assertThat(demand.getId()).isGreaterThan(2L);
+        assertThat(demandRepository.findById(1L)).get()
+                .satisfies(existing -> assertThat(existing.getAttachmentStatus()).isNull());
+    }
+}
@@ -0,0 +1,241 @@
+package net.axel.gestibankbackend.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.axel.gestibankbackend.domain.dtos.demand.projections.DemandRowDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.export.ExportRangeDTO;
+import net.axel.gestibankbackend.domain.dtos.page.CursorPageDTO;
+import net.axel.gestibankbackend.domain.dtos.quote.responses.QuoteSummaryDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Article;
+import net.axel.gestibankbackend.domain.entities.Comment;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.entities.Quote;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
+import net.axel.gestibankbackend.domain.enums.CommentType;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+import net.axel.gestibankbackend.mapper.CommentMapper;
+import net.axel.gestibankbackend.mapper.DemandMapper;
+import net.axel.gestibankbackend.mapper.QuoteMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class DemandRepositoryTest {
+
+    private static final int DEMANDS = 30;
+
+    @Autowired
+    private DemandRepository repository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final DemandMapper mapper = new DemandMapper(new CommentMapper());
+
+    private final QuoteMapper quoteMapper = new QuoteMapper(mapper, new CommentMapper());
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < DEMANDS; i++) {
+            AppUser agent = entityManager.persist(
+                    AppUser.register("agent" + i, "agent", "agent" + i + "@chaabi.com", "secret", AppRole.AGENT)
+            );
+            Demand demand = entityManager.persist(Demand.createDemand("demand " + i, "description", null, agent));
+            for (int j = 0; j < 3; j++) {
+                entityManager.persist(Article.createArticle("article " + j, "description", j + 1, demand));
+            }
+            for (int j = 0; j < 2; j++) {
+                entityManager.persist(Comment.createComment("comment " + j, CommentType.APPROVED, agent).setDemand(demand));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findPageRows_readsProjectionsWithoutManagedEntities() {
+        List<DemandRowDTO> rows = repository.findPageRows(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")));
+        List<Long> ids = rows.stream().map(DemandRowDTO::id).toList();
+
+        assertThat(rows).hasSize(10).allSatisfy(row -> assertThat(row.creatorEmail()).isNotNull());
+        assertThat(articleRepository.findRowsByDemandIds(ids)).hasSize(30);
+        assertThat(commentRepository.findRowsByDemandIds(ids)).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void summaryPages_runOneStatementWithoutLoadingEntities() {
+        AppUser provider = entityManager.persist(AppUser.register("provider", "provider", "provider@chaabi.com", "secret", AppRole.PROVIDER));
+        repository.findAll().forEach(demand -> entityManager.persist(Quote.createQuote(provider, demand, 10.0)));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<DemandSummaryDTO> demands = repository.findPageRows(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")))
+                .stream()
+                .map(mapper::toSummaryDto)
+                .toList();
+
+        assertThat(demands).hasSize(10).allSatisfy(demand -> assertThat(demand.createdBy().email()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.clear();
+        List<QuoteSummaryDTO> quotes = quoteRepository.findPageRows(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id")))
+                .stream()
+                .map(quoteMapper::mapToSummary)
+                .toList();
+
+        assertThat(quotes).hasSize(10).allSatisfy(quote -> assertThat(quote.demandTitle()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findRowsBefore_walksEveryDemandOnceWithCursors() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            List<DemandRowDTO> rows = repository.findRowsBefore(CursorPageDTO.decode(cursor), CursorPageDTO.fetchLimit(7));
+            CursorPageDTO<DemandRowDTO> page = CursorPageDTO.of(rows, 7, DemandRowDTO::id);
+            page.items().forEach(row -> seen.add(row.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(DEMANDS).doesNotHaveDuplicates().isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void streamRows_readsDateRangeInIdOrder() {
+        ExportRangeDTO range = ExportRangeDTO.of(LocalDate.now(ZoneOffset.UTC), null);
+
+        try (Stream<DemandRowDTO> rows = repository.streamRows(range.from(), range.to())) {
+            assertThat(rows.map(DemandRowDTO::id).toList()).hasSize(DEMANDS).isSorted();
+        }
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        ExportRangeDTO past = ExportRangeDTO.of(null, LocalDate.now(ZoneOffset.UTC).minusDays(1));
+        try (Stream<DemandRowDTO> rows = repository.streamRows(past.from(), past.to())) {
+            assertThat(rows).isEmpty();
+        }
+    }
+
+    @Test
+    void save_batchesArticleInserts() {
+        AppUser agent = entityManager.find(AppUser.class, repository.findAll().getFirst().getCreatedBy().getId());
+        Demand demand = Demand.createDemand("bulk", "description", null, agent);
+        for (int i = 0; i < 40; i++) {
+            demand.getArticles().add(Article.createArticle("article " + i, "description", 1, demand));
+        }
+        statistics.clear();
+
+        repository.save(demand);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(41);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void findTechnicianApprovedRowsWithoutQuoteFromBefore_hidesDemandsTheProviderQuoted() {
+        AppUser provider = entityManager.persist(AppUser.register("provider", "provider", "provider@chaabi.com", "secret", AppRole.PROVIDER));
+        AppUser other = entityManager.persist(AppUser.register("other", "provider", "other@chaabi.com", "secret", AppRole.PROVIDER));
+        List<Demand> approved = repository.findAll(Sort.by("id")).subList(0, 3);
+        approved.forEach(demand -> demand.setStatus(DemandStatus.TECHNICIAN_APPROVED));
+        entityManager.persist(Quote.createQuote(provider, approved.get(1), 10.0));
+        entityManager.persist(Quote.createQuote(other, approved.get(2), 10.0));
+        entityManager.flush();
+
+        List<Long> inbox = repository.findTechnicianApprovedRowsWithoutQuoteFromBefore(provider.getId(), Long.MAX_VALUE, Limit.of(10))
+                .stream()
+                .map(DemandRowDTO::id)
+                .toList();
+
+        assertThat(inbox).containsExactly(approved.get(2).getId(), approved.get(0).getId());
+    }
+
+    @Test
+    void findVersionById_movesWithEveryWrite() {
+        Demand demand = repository.findAll(Sort.by("id")).getFirst();
+        AppUser provider = entityManager.persist(AppUser.register("provider", "provider", "provider@chaabi.com", "secret", AppRole.PROVIDER));
+        Quote quote = entityManager.persist(Quote.createQuote(provider, demand, 10.0));
+        entityManager.flush();
+        ResourceVersionDTO created = repository.findVersionById(demand.getId()).orElseThrow();
+        ResourceVersionDTO quoted = quoteRepository.findVersionById(quote.getId()).orElseThrow();
+
+        demand.touch();
+        entityManager.flush();
+        ResourceVersionDTO touched = repository.findVersionById(demand.getId()).orElseThrow();
+
+        repository.updateAttachment(demand.getId(), "demands/file.pdf", AttachmentStatus.UPLOADED);
+        ResourceVersionDTO attached = repository.findVersionById(demand.getId()).orElseThrow();
+
+        assertThat(List.of(created.etag(), touched.etag(), attached.etag())).doesNotHaveDuplicates();
+        assertThat(touched.lastModified()).isAfterOrEqualTo(created.lastModified());
+        assertThat(attached.lastModified()).isNotNull();
+        assertThat(quoteRepository.findVersionById(quote.getId()).orElseThrow().etag()).isNotEqualTo(quoted.etag());
+        assertThat(repository.findVersionById(-1L)).isEmpty();
+    }
+
+    @Test
+    void findVersionById_movesWhenItsQuotesChange() {
+        Demand demand = repository.findAll(Sort.by("id")).getFirst();
+        ResourceVersionDTO unquoted = repository.findVersionById(demand.getId()).orElseThrow();
+
+        AppUser provider = entityManager.persist(AppUser.register("provider", "provider", "provider@chaabi.com", "secret", AppRole.PROVIDER));
+        Quote quote = entityManager.persist(Quote.createQuote(provider, demand, 10.0));
+        entityManager.flush();
+        ResourceVersionDTO quoted = repository.findVersionById(demand.getId()).orElseThrow();
+
+        quote.setStatus(QuoteStatus.APPROVED);
+        entityManager.flush();
+        ResourceVersionDTO approved = repository.findVersionById(demand.getId()).orElseThrow();
+
+        assertThat(List.of(unquoted.etag(), quoted.etag(), approved.etag())).doesNotHaveDuplicates();
+        assertThat(approved.lastModified()).isAfterOrEqualTo(unquoted.lastModified());
+    }
+}
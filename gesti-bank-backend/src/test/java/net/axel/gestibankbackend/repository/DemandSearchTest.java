@@ -0,0 +1,159 @@
+package net.axel.gestibankbackend.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import net.axel.gestibankbackend.domain.dtos.demand.requests.DemandSearchDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSearchHitDTO;
+import net.axel.gestibankbackend.domain.dtos.demand.responses.DemandSearchResultDTO;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Article;
+import net.axel.gestibankbackend.domain.entities.Comment;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.entities.Quote;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.CommentType;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.domain.enums.QuoteStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search runs on the tsvector the V3 migration triggers maintain, so it needs the migrated
+ * Postgres schema. Every write goes through Hibernate, the way the application feeds the index.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class DemandSearchTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Autowired
+    private DemandRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private AppUser agent;
+
+    private AppUser responsible;
+
+    private Demand titled;
+
+    private Demand described;
+
+    private Demand commented;
+
+    @BeforeEach
+    void setUp() {
+        agent = entityManager.persist(AppUser.register("agent", "agent", "agent@chaabi.com", "secret", AppRole.AGENT));
+        responsible = entityManager.persist(AppUser.register("responsible", "responsible", "responsible@chaabi.com", "secret", AppRole.RESPONSIBLE));
+        AppUser provider = entityManager.persist(AppUser.register("provider", "provider", "provider@chaabi.com", "secret", AppRole.PROVIDER));
+
+        titled = demand("Printer toner", "Third floor", agent, "cartridge");
+        described = demand("Office supplies", "Toner for the printer in room 12", responsible, "paper");
+        commented = demand("Screens", "Two monitors", agent, "monitor");
+        entityManager.persist(Comment.createComment("please add a toner", CommentType.APPROVED, responsible).setDemand(commented));
+        demand("Chairs", "Ergonomic chairs", agent, "chair");
+
+        described.setStatus(DemandStatus.RESPONSIBLE_APPROVED);
+        entityManager.persist(Quote.createQuote(provider, described, 120.0).setStatus(QuoteStatus.APPROVED));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void search_ranksTitleOverDescriptionOverComments() {
+        DemandSearchResultDTO result = search(DemandSearchDTO.of("toner", null, null, null, null, null, 0, 20));
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.hits()).extracting(DemandSearchHitDTO::id)
+                .containsExactly(titled.getId(), described.getId(), commented.getId());
+        assertThat(result.hits().getFirst().headline()).contains("<b>toner</b>");
+        assertThat(result.hits().getFirst().creatorEmail()).isEqualTo("agent@chaabi.com");
+        assertThat(result.hits().getFirst().createdAt()).isNotNull();
+    }
+
+    @Test
+    void search_countsFacetsOverEveryMatch() {
+        DemandSearchResultDTO result = search(DemandSearchDTO.of("toner", null, null, null, null, null, 0, 1));
+
+        assertThat(result.hits()).hasSize(1);
+        assertThat(result.facets().status()).isEqualTo(Map.of(
+                DemandStatus.CREATED, 2L,
+                DemandStatus.RESPONSIBLE_APPROVED, 1L));
+        assertThat(result.facets().creator()).isEqualTo(Map.of(
+                "agent@chaabi.com", 2L,
+                "responsible@chaabi.com", 1L));
+        assertThat(result.facets().quoteStatus()).isEqualTo(Map.of(QuoteStatus.APPROVED, 1L));
+    }
+
+    @Test
+    void search_appliesFilters() {
+        assertThat(search(DemandSearchDTO.of("toner", DemandStatus.CREATED, null, null, null, null, 0, 20)).hits())
+                .extracting(DemandSearchHitDTO::id).containsExactly(titled.getId(), commented.getId());
+        assertThat(search(DemandSearchDTO.of("toner", null, "responsible@chaabi.com", null, null, null, 0, 20)).hits())
+                .extracting(DemandSearchHitDTO::id).containsExactly(described.getId());
+        assertThat(search(DemandSearchDTO.of("toner", null, null, null, null, QuoteStatus.APPROVED, 0, 20)).hits())
+                .extracting(DemandSearchHitDTO::id).containsExactly(described.getId());
+
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        DemandSearchResultDTO past = search(DemandSearchDTO.of("toner", null, null, null, yesterday, null, 0, 20));
+        assertThat(past.total()).isZero();
+        assertThat(past.hits()).isEmpty();
+        assertThat(past.facets().status()).isEmpty();
+    }
+
+    @Test
+    void writes_keepTheIndexInSync() {
+        assertThat(search(DemandSearchDTO.of("stapler", null, null, null, null, null, 0, 20)).total()).isZero();
+
+        Demand chairs = repository.findAll().stream().filter(d -> d.getTitle().equals("Chairs")).findFirst().orElseThrow();
+        entityManager.persist(Article.createArticle("stapler", "heavy duty", 1, chairs));
+        entityManager.persist(Comment.createComment("with armrests", CommentType.APPROVED, responsible).setDemand(chairs));
+        Demand screens = entityManager.find(Demand.class, commented.getId()).setTitle("Displays");
+        entityManager.flush();
+
+        assertThat(search(DemandSearchDTO.of("stapler armrests", null, null, null, null, null, 0, 20)).hits())
+                .extracting(DemandSearchHitDTO::id).containsExactly(chairs.getId());
+        assertThat(search(DemandSearchDTO.of("displays toner", null, null, null, null, null, 0, 20)).hits())
+                .extracting(DemandSearchHitDTO::id).containsExactly(screens.getId());
+        assertThat(search(DemandSearchDTO.of("screens", null, null, null, null, null, 0, 20)).total()).isZero();
+    }
+
+    private Demand demand(String title, String description, AppUser creator, String article) {
+        Demand demand = entityManager.persist(Demand.createDemand(title, description, null, creator));
+        entityManager.persist(Article.createArticle(article, null, 1, demand));
+        return demand;
+    }
+
+    private DemandSearchResultDTO search(DemandSearchDTO dto) {
+        String result = repository.search(dto.query(), dto.from(), dto.to(),
+                dto.status() == null ? null : dto.status().name(),
+                dto.creator(),
+                dto.quoteStatus() == null ? null : dto.quoteStatus().name(),
+                dto.size(), dto.page() * dto.size(), DemandRepository.SEARCH_CREATOR_FACETS);
+        try {
+            return objectMapper.readValue(result, DemandSearchResultDTO.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
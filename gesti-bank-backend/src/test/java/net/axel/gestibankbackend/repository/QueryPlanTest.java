@@ -0,0 +1,218 @@
+package net.axel.gestibankbackend.repository;
+
+import net.axel.gestibankbackend.domain.dtos.export.ExportRangeDTO;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot repository queries against the migrated Postgres schema and fails when the
+ * plan of any statement they send contains a sequential scan. Statements are explained with
+ * their generic plan, the one a prepared statement settles on once Postgres stops re-planning.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=net.axel.gestibankbackend.repository.QueryPlanTest$RecordingInspector"
+})
+class QueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    private static final List<Long> IDS = LongStream.rangeClosed(1_000, 1_020).boxed().toList();
+
+    @Autowired
+    private DemandRepository demandRepository;
+
+    @Autowired
+    private QuoteRepository quoteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("""
+                insert into users (id, email, first_name, last_name, role, created_at)
+                select i, 'user' || i || '@chaabi.com', 'first', 'last', 'AGENT', now() from generate_series(1, 20000) i;
+                insert into demands (id, title, status, created_by_id, created_at)
+                select i, 'demand ' || i,
+                       case i % 50 when 0 then 'CREATED' when 1 then 'RESPONSIBLE_APPROVED' when 2 then 'TECHNICIAN_APPROVED' else 'DONE' end,
+                       i % 20000 + 1, now() - i * interval '1 minute'
+                from generate_series(1, 20000) i;
+                insert into articles (id, name, quantity, demand_id)
+                select i, 'article', 1, i % 20000 + 1 from generate_series(1, 60000) i;
+                insert into quotes (id, status, total_amount, created_by_id, demand_id, created_at)
+                select i, case i % 50 when 0 then 'CREATED' when 1 then 'APPROVED' else 'DONE' end, 10, i % 20000 + 1, i,
+                       now() - i * interval '1 minute'
+                from generate_series(1, 20000) i;
+                insert into comments (id, content, type, created_by_id, demand_id, quote_id, created_at)
+                select i, 'comment', 0, i % 20000 + 1,
+                       case when i % 2 = 0 then i % 20000 + 1 end,
+                       case when i % 2 = 1 then i % 20000 + 1 end,
+                       now()
+                from generate_series(1, 40000) i;
+                analyze;
+                """);
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void userLookups_useIndexes() {
+        userRepository.findByEmail("user42@chaabi.com");
+        userRepository.existsByEmail("user42@chaabi.com");
+        userRepository.findDirectoryPage("user42@chaabi.com", PageRequest.of(3, 20, Sort.by(Sort.Direction.DESC, "id")));
+        userRepository.findDirectoryBefore("user42@chaabi.com", 1_500L, Limit.of(21));
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void userHistory_walksCreatorIndex() {
+        demandRepository.findRowsByCreatorBefore(42L, Long.MAX_VALUE, Limit.of(21));
+        quoteRepository.findRowsByCreatorBefore(42L, Long.MAX_VALUE, Limit.of(21));
+
+        assertNoSequentialScans();
+        assertThat(explain(RecordingInspector.STATEMENTS.get(0))).contains("demands_created_by_id_idx");
+        assertThat(explain(RecordingInspector.STATEMENTS.get(1))).contains("quotes_created_by_id_idx");
+    }
+
+    @Test
+    void demandReads_useIndexes() {
+        demandRepository.findPageRows(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id")));
+        demandRepository.findRowsBefore(10_000L, Limit.of(21));
+        articleRepository.findRowsByDemandIds(IDS);
+        commentRepository.findRowsByDemandIds(IDS);
+
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void quoteReads_useIndexes() {
+        quoteRepository.findPageRows(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id")));
+        quoteRepository.findRowsBefore(10_000L, Limit.of(21));
+        commentRepository.findRowsByQuoteIds(IDS);
+
+        assertNoSequentialScans();
+    }
+
+    /**
+     * A page of an inbox must be read in index order and stop after its rows, walking the
+     * primary key and filtering would read the whole table for a quiet inbox.
+     */
+    @Test
+    void inboxReads_walkTheirSliceIndex() {
+        demandRepository.findRowsByCreatorBefore(42L, Long.MAX_VALUE, Limit.of(21));
+        demandRepository.findCreatedRowsBefore(10_000L, Limit.of(21));
+        demandRepository.findResponsibleApprovedRowsBefore(Long.MAX_VALUE, Limit.of(21));
+        demandRepository.findTechnicianApprovedRowsWithoutQuoteFromBefore(42L, Long.MAX_VALUE, Limit.of(21));
+        quoteRepository.findApprovedRowsBefore(Long.MAX_VALUE, Limit.of(21));
+
+        assertNoSequentialScans();
+        assertThat(explain(RecordingInspector.STATEMENTS.get(0))).contains("demands_created_by_id_idx");
+        assertThat(explain(RecordingInspector.STATEMENTS.get(1))).contains("demands_status_id_idx");
+        assertThat(explain(RecordingInspector.STATEMENTS.get(2))).contains("demands_status_id_idx");
+        assertThat(explain(RecordingInspector.STATEMENTS.get(3))).contains("demands_status_id_idx");
+        assertThat(explain(RecordingInspector.STATEMENTS.get(4))).contains("quotes_status_id_idx");
+    }
+
+    @Test
+    void demandSearch_usesTextIndex() {
+        demandRepository.search("demand 42", null, null, "CREATED", "user42@chaabi.com", "CREATED", 20, 0,
+                DemandRepository.SEARCH_CREATOR_FACETS);
+
+        assertNoSequentialScans();
+        assertThat(explain(RecordingInspector.STATEMENTS.getFirst())).contains("demands_search_idx");
+    }
+
+    /**
+     * Exports are bulk reads, joining their rows by hash is fine, but the date range itself
+     * must come from the creation date index.
+     */
+    @Test
+    void exports_rangeScanCreationDate() {
+        ExportRangeDTO range = ExportRangeDTO.of(LocalDate.now().minusDays(1), LocalDate.now());
+
+        try (var rows = demandRepository.streamRows(range.from(), range.to())) {
+            rows.forEach(row -> { });
+        }
+        try (var rows = quoteRepository.streamRows(range.from(), range.to())) {
+            rows.forEach(row -> { });
+        }
+
+        assertThat(RecordingInspector.STATEMENTS).hasSize(2);
+        jdbcTemplate.execute("set local plan_cache_mode = force_generic_plan");
+        assertThat(explain(RecordingInspector.STATEMENTS.get(0))).contains("demands_created_at_idx");
+        assertThat(explain(RecordingInspector.STATEMENTS.get(1))).contains("quotes_created_at_idx");
+    }
+
+    private void assertNoSequentialScans() {
+        assertThat(RecordingInspector.STATEMENTS).isNotEmpty();
+        jdbcTemplate.execute("set local plan_cache_mode = force_generic_plan");
+        for (String sql : RecordingInspector.STATEMENTS) {
+            assertThat(explain(sql)).as("plan of %s", sql).doesNotContain("Seq Scan");
+        }
+    }
+
+    private String explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') numbered.append('$').append(++parameters);
+            else numbered.append(c);
+        }
+
+        jdbcTemplate.execute("prepare hot as " + numbered);
+        try {
+            String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "null")) + ")";
+            return String.join("\n", jdbcTemplate.queryForList("explain execute hot" + arguments, String.class));
+        } finally {
+            jdbcTemplate.execute("deallocate hot");
+        }
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            String statement = sql.stripLeading();
+            if (statement.startsWith("select") || statement.startsWith("with")) STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package net.axel.gestibankbackend.repository;
+
+import net.axel.gestibankbackend.domain.dtos.user.responses.UserDirectoryDTO;
+import net.axel.gestibankbackend.domain.dtos.version.ResourceVersionDTO;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.entities.Quote;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private AppUser admin;
+
+    private AppUser agent;
+
+    private AppUser provider;
+
+    @BeforeEach
+    void setUp() {
+        agent = entityManager.persist(AppUser.register("agent", "agent", "agent@chaabi.com", "secret", AppRole.AGENT));
+        provider = entityManager.persist(AppUser.register("provider", "provider", "provider@chaabi.com", "secret", AppRole.PROVIDER));
+        admin = entityManager.persist(AppUser.register("admin", "admin", "admin@chaabi.com", "secret", AppRole.ADMIN));
+
+        for (int i = 0; i < 3; i++) {
+            Demand demand = entityManager.persist(Demand.createDemand("demand " + i, "description", null, agent));
+            entityManager.persist(Quote.createQuote(provider, demand, 10.0 * i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void directory_excludesCallerAndCountsHistory() {
+        List<UserDirectoryDTO> page = repository.findDirectoryPage(
+                admin.getEmail(), PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"))
+        );
+
+        assertThat(page).extracting(UserDirectoryDTO::id).containsExactly(provider.getId(), agent.getId());
+        assertThat(page).extracting(UserDirectoryDTO::demandCount).containsExactly(0L, 3L);
+        assertThat(page).extracting(UserDirectoryDTO::quoteCount).containsExactly(3L, 0L);
+    }
+
+    @Test
+    void directoryBefore_excludesCaller() {
+        List<UserDirectoryDTO> users = repository.findDirectoryBefore(provider.getEmail(), Long.MAX_VALUE, Limit.of(10));
+
+        assertThat(users).extracting(UserDirectoryDTO::id).containsExactly(admin.getId(), agent.getId());
+    }
+
+    @Test
+    void findProfileVersion_movesWithTheUsersHistory() {
+        ResourceVersionDTO initial = repository.findProfileVersion(agent.getEmail()).orElseThrow();
+
+        Demand demand = entityManager.persist(Demand.createDemand("demand", "description", null, agent));
+        entityManager.flush();
+        ResourceVersionDTO created = repository.findProfileVersion(agent.getEmail()).orElseThrow();
+
+        demand.touch();
+        entityManager.flush();
+        ResourceVersionDTO updated = repository.findProfileVersion(agent.getEmail()).orElseThrow();
+
+        assertThat(List.of(initial.etag(), created.etag(), updated.etag())).doesNotHaveDuplicates();
+        assertThat(updated.lastModified()).isAfterOrEqualTo(created.lastModified());
+        assertThat(repository.findProfileVersion(admin.getEmail()).orElseThrow().etag()).isEqualTo("0.0.0.0.0");
+    }
+}
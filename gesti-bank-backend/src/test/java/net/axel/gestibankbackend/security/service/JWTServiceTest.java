@@ -0,0 +1,42 @@
+package net.axel.gestibankbackend.security.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.security.SignatureException;
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JWTServiceTest {
+
+    private final AppUser user = AppUser.register("agent", "agent", "agent@chaabi.com", "secret", AppRole.AGENT)
+            .setId(7L);
+
+    @Test
+    void verify_returnsClaimsAndServesRepeatedTokensFromCache() {
+        JWTService jwtService = new JWTService(100, Duration.ofMinutes(1));
+        String token = jwtService.generateToken(user);
+
+        Claims claims = jwtService.verify(token);
+
+        assertThat(claims.getSubject()).isEqualTo("agent@chaabi.com");
+        assertThat(claims.get("userId", Long.class)).isEqualTo(7L);
+        assertThat(jwtService.verify(token)).isSameAs(claims);
+        assertThat(jwtService.validateToken(claims, user)).isTrue();
+    }
+
+    @Test
+    void verify_rejectsTamperedTokenWithAndWithoutCache() {
+        for (long cacheSize : new long[]{0, 100}) {
+            JWTService jwtService = new JWTService(cacheSize, Duration.ofMinutes(1));
+            String token = jwtService.generateToken(user);
+            String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+            assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(SignatureException.class);
+        }
+    }
+}
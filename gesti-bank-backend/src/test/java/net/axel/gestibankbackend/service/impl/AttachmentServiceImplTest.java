@@ -0,0 +1,162 @@
+package net.axel.gestibankbackend.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.enums.AttachmentStatus;
+import net.axel.gestibankbackend.exception.domains.FileUploadException;
+import net.axel.gestibankbackend.repository.DemandRepository;
+import net.axel.gestibankbackend.repository.QuoteRepository;
+import net.axel.gestibankbackend.service.FileUploader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttachmentServiceImplTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final DemandRepository demandRepository = mock(DemandRepository.class);
+    private final UploadWorkers workers = new UploadWorkers(1, true);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UploadLimiter limiter = new UploadLimiter(DataSize.ofMegabytes(1), Duration.ofMillis(100), registry);
+
+    private Path stagingDir;
+
+    @BeforeEach
+    void setUp() {
+        stagingDir = tempDir.resolve("staging");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        workers.shutdown();
+    }
+
+    @Test
+    void attachToDemand_uploadsStagedFileAndPatchesUrl() throws Exception {
+        LocalFileUploader storage = new LocalFileUploader(tempDir.resolve("storage"), "http://files");
+        AttachmentServiceImpl service = service(storage);
+        Demand demand = new Demand().setId(7L);
+
+        service.attachToDemand(demand, new MockMultipartFile("file", "../quote 1.pdf", "application/pdf", "pdf".getBytes()));
+
+        assertThat(demand.getAttachmentStatus()).isEqualTo(AttachmentStatus.PENDING);
+        ArgumentCaptor<String> url = ArgumentCaptor.forClass(String.class);
+        verify(demandRepository, timeout(5000)).updateAttachment(eq(7L), url.capture(), eq(AttachmentStatus.UPLOADED));
+        assertThat(url.getValue()).startsWith("http://files/").endsWith("/quote_1.pdf");
+        String hash = url.getValue().split("/")[3];
+        assertThat(storage.find(hash)).hasValueSatisfying(file -> assertThat(file).hasContent("pdf"));
+        assertThat(stagingDir.resolve("demands")).isEmptyDirectory();
+        assertThat(registry.get("attachments.upload.size").summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get("attachments.upload").tag("phase", "remote").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void attachToDemand_keepsFileStagedWhenUploadFails() throws Exception {
+        FileUploader failing = mock(FileUploader.class);
+        when(failing.upload(any(), any())).thenThrow(new IllegalStateException("backend down"));
+        AttachmentServiceImpl service = service(failing);
+
+        service.attachToDemand(new Demand().setId(8L), new MockMultipartFile("file", "a.pdf", "application/pdf", "pdf".getBytes()));
+
+        verify(demandRepository, timeout(5000)).updateAttachment(8L, null, AttachmentStatus.FAILED);
+        assertThat(Files.exists(stagingDir.resolve("demands/8/a.pdf"))).isTrue();
+    }
+
+    @Test
+    void attachToDemand_removesPartialFileWhenStagingFails() throws Exception {
+        AttachmentServiceImpl service = service(mock(FileUploader.class));
+        MockMultipartFile broken = new MockMultipartFile("file", "a.pdf", "application/pdf", "pdf".getBytes()) {
+            @Override
+            public void transferTo(Path dest) throws IOException {
+                Files.writeString(dest, "partial");
+                throw new IOException("client went away");
+            }
+        };
+
+        assertThatThrownBy(() -> service.attachToDemand(new Demand().setId(9L), broken))
+                .isInstanceOf(FileUploadException.class);
+        assertThat(stagingDir.resolve("demands")).isEmptyDirectory();
+    }
+
+    @Test
+    void resumeStagedUploads_skipsEntriesThatAreNotEntityDirectories() throws Exception {
+        Files.createDirectories(stagingDir.resolve("demands/12"));
+        Files.writeString(stagingDir.resolve("demands/12/a.pdf"), "pdf");
+        Files.writeString(stagingDir.resolve("demands/notes.txt"), "stray");
+        Files.createDirectories(stagingDir.resolve("demands/tmp"));
+        Files.writeString(stagingDir.resolve("demands/tmp/b.pdf"), "stray");
+        AttachmentServiceImpl service = service(new LocalFileUploader(tempDir.resolve("storage"), "http://files"));
+
+        service.resumeStagedUploads();
+
+        verify(demandRepository, timeout(5000)).updateAttachment(eq(12L), any(), eq(AttachmentStatus.UPLOADED));
+        assertThat(stagingDir.resolve("demands/notes.txt")).exists();
+        assertThat(stagingDir.resolve("demands/tmp/b.pdf")).exists();
+    }
+
+    @Test
+    void retryFailedUploads_resubmitsFilesStagedBeforeTheInterval() throws Exception {
+        FileUploader flaky = mock(FileUploader.class);
+        when(flaky.upload(any(), any())).thenThrow(new IllegalStateException("backend down")).thenReturn("http://files/a.pdf");
+        AttachmentServiceImpl service = service(flaky);
+
+        service.attachToDemand(new Demand().setId(8L), new MockMultipartFile("file", "a.pdf", "application/pdf", "pdf".getBytes()));
+        verify(demandRepository, timeout(5000)).updateAttachment(8L, null, AttachmentStatus.FAILED);
+        awaitWorkers();
+
+        service.retryFailedUploads();
+        awaitWorkers();
+        verify(demandRepository, never()).updateAttachment(8L, "http://files/a.pdf", AttachmentStatus.UPLOADED);
+
+        Path staged = stagingDir.resolve("demands/8/a.pdf");
+        Files.setLastModifiedTime(staged, FileTime.from(Instant.now().minus(Duration.ofMinutes(10))));
+        service.retryFailedUploads();
+
+        verify(demandRepository, timeout(5000)).updateAttachment(8L, "http://files/a.pdf", AttachmentStatus.UPLOADED);
+        awaitWorkers();
+        assertThat(staged).doesNotExist();
+    }
+
+    private void awaitWorkers() throws InterruptedException {
+        CountDownLatch drained = new CountDownLatch(1);
+        workers.submit(drained::countDown);
+        assertThat(drained.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private AttachmentServiceImpl service(FileUploader uploader) {
+        AttachmentServiceImpl service = new AttachmentServiceImpl(uploader, demandRepository, mock(QuoteRepository.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), workers, limiter, registry);
+        ReflectionTestUtils.setField(service, "stagingDir", stagingDir);
+        ReflectionTestUtils.setField(service, "stagingRetention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(service, "retryInterval", Duration.ofMinutes(5));
+        return service;
+    }
+}
@@ -0,0 +1,97 @@
+package net.axel.gestibankbackend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.axel.gestibankbackend.domain.enums.DataFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DemandImportReaderTest {
+
+    @Test
+    void csv_groupsConsecutiveLinesByRef() throws IOException {
+        List<DemandImportReader.Entry> entries = read(DataFormat.CSV, """
+                ref,title,description,article_name,article_description,article_quantity
+                a,Toner,"for the 2nd floor, urgent",toner,black,4
+                a,Toner,,paper,"A4 \"\"premium\"\"",10
+                b,Chairs,,chair,,6
+                """);
+
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).line()).isEqualTo(2);
+        assertThat(entries.get(0).demand().description()).isEqualTo("for the 2nd floor, urgent");
+        assertThat(entries.get(0).demand().articles()).hasSize(2);
+        assertThat(entries.get(0).demand().articles().get(1).description()).isEqualTo("A4 \"premium\"");
+        assertThat(entries.get(1).line()).isEqualTo(4);
+        assertThat(entries.get(1).demand().articles().getFirst().quantity()).isEqualTo(6);
+    }
+
+    @Test
+    void csv_reportsBadLinesAndKeepsReading() throws IOException {
+        List<DemandImportReader.Entry> entries = read(DataFormat.CSV, """
+                ref,title,description,article_name,article_description,article_quantity
+                a,Toner,,toner,,four
+                b,"Chairs,,chair,,6
+                c,Desks,,desk,,2
+                """);
+
+        assertThat(entries).extracting(DemandImportReader.Entry::line).containsExactly(2L, 3L, 4L);
+        assertThat(entries.get(0).error()).contains("article_quantity");
+        assertThat(entries.get(1).error()).contains("unterminated");
+        assertThat(entries.get(2).error()).isNull();
+    }
+
+    @Test
+    void csv_rejectsHeaderWithoutRequiredColumns() throws IOException {
+        List<DemandImportReader.Entry> entries = read(DataFormat.CSV, "title,article_name\nToner,toner\n");
+
+        assertThat(entries).singleElement().satisfies(entry -> assertThat(entry.error()).contains("header"));
+    }
+
+    @Test
+    void csv_endsTheStreamWhenHeaderLacksRef() throws IOException {
+        List<DemandImportReader.Entry> entries = read(DataFormat.CSV, """
+                title,description,article_name,article_description,article_quantity
+                Toner,,toner,,4
+                Chairs,,chair,,6
+                """);
+
+        assertThat(entries).singleElement().satisfies(entry -> {
+            assertThat(entry.line()).isEqualTo(1);
+            assertThat(entry.demand()).isNull();
+            assertThat(entry.error()).contains("ref");
+        });
+    }
+
+    @Test
+    void ndjson_readsOneDemandPerLine() throws IOException {
+        List<DemandImportReader.Entry> entries = read(DataFormat.NDJSON, """
+                {"title":"Toner","articles":[{"name":"toner","quantity":4}]}
+
+                {"title":
+                {"title":"Chairs","articles":[]}
+                """);
+
+        assertThat(entries).extracting(DemandImportReader.Entry::line).containsExactly(1L, 3L, 4L);
+        assertThat(entries.get(0).demand().articles().getFirst().name()).isEqualTo("toner");
+        assertThat(entries.get(1).error()).startsWith("invalid JSON");
+        assertThat(entries.get(2).demand().title()).isEqualTo("Chairs");
+    }
+
+    private static List<DemandImportReader.Entry> read(DataFormat format, String content) throws IOException {
+        DemandImportReader reader = new DemandImportReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, new ObjectMapper());
+        List<DemandImportReader.Entry> entries = new ArrayList<>();
+        DemandImportReader.Entry entry;
+        while ((entry = reader.next()) != null) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,41 @@
+package net.axel.gestibankbackend.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalFileUploaderTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void upload_storesIdenticalContentOnce() throws Exception {
+        Path root = tempDir.resolve("storage");
+        LocalFileUploader storage = new LocalFileUploader(root, "http://files");
+        Path first = Files.writeString(tempDir.resolve("a.pdf"), "same content");
+        Path second = Files.writeString(tempDir.resolve("b.pdf"), "same content");
+
+        String firstUrl = storage.upload(first, "a.pdf");
+        String secondUrl = storage.upload(second, "b file.pdf");
+
+        assertThat(firstUrl).isEqualTo("http://files/a636bd7cd42060a4d07fa1bfbcc010eb7794c2ba721e1e3e4c20335a15b66eaf/a.pdf");
+        assertThat(secondUrl).isEqualTo("http://files/a636bd7cd42060a4d07fa1bfbcc010eb7794c2ba721e1e3e4c20335a15b66eaf/b%20file.pdf");
+        try (Stream<Path> files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    @Test
+    void find_rejectsAnythingButAHash() {
+        LocalFileUploader storage = new LocalFileUploader(tempDir, "http://files");
+
+        assertThat(storage.find("../../etc/passwd")).isEmpty();
+        assertThat(storage.find("0".repeat(64))).isEmpty();
+    }
+}
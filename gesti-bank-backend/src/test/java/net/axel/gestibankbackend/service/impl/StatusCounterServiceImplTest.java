@@ -0,0 +1,89 @@
+package net.axel.gestibankbackend.service.impl;
+
+import net.axel.gestibankbackend.domain.entities.AppUser;
+import net.axel.gestibankbackend.domain.entities.Demand;
+import net.axel.gestibankbackend.domain.enums.AppRole;
+import net.axel.gestibankbackend.domain.enums.DemandStatus;
+import net.axel.gestibankbackend.repository.DemandRepository;
+import net.axel.gestibankbackend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@Import(StatusCounterServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatusCounterServiceImplTest {
+
+    private static final String AGENT = "agent@chaabi.com";
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private StatusCounterServiceImpl counters;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DemandRepository demandRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.execute("delete from status_counts; delete from demands; delete from users");
+    }
+
+    @Test
+    void record_countsCommittedTransitionsOnly() {
+        transactionTemplate.executeWithoutResult(status -> {
+            counters.recordDemand(AGENT, null, DemandStatus.CREATED);
+            counters.recordDemand(AGENT, null, DemandStatus.CREATED);
+            counters.recordDemand(AGENT, DemandStatus.CREATED, DemandStatus.RESPONSIBLE_APPROVED);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            counters.recordDemand(AGENT, null, DemandStatus.DONE);
+            status.setRollbackOnly();
+        });
+
+        assertThat(counters.demandCounts(AGENT))
+                .containsEntry(DemandStatus.CREATED, 1L)
+                .containsEntry(DemandStatus.RESPONSIBLE_APPROVED, 1L)
+                .containsEntry(DemandStatus.DONE, 0L);
+        assertThat(counters.demandCounts()).containsEntry(DemandStatus.CREATED, 1L);
+    }
+
+    @Test
+    void reconcile_recountsRowsWrittenAroundTheService() {
+        AppUser user = userRepository.save(AppUser.register("agent", "user", AGENT, "secret", AppRole.AGENT));
+        demandRepository.save(Demand.createDemand("chair", "a chair for the branch", null, user));
+
+        assertThat(counters.reconcile()).isEqualTo(1L);
+        assertThat(counters.demandCounts(AGENT)).containsEntry(DemandStatus.CREATED, 1L);
+        assertThat(counters.reconcile()).isZero();
+    }
+}
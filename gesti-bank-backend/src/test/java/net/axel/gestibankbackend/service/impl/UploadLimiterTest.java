@@ -0,0 +1,34 @@
+package net.axel.gestibankbackend.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.axel.gestibankbackend.exception.domains.UploadCapacityExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UploadLimiter limiter = new UploadLimiter(DataSize.ofKilobytes(10), Duration.ofMillis(50), registry);
+
+    @Test
+    void tryAcquire_rejectsWhenCapIsTaken() {
+        try (UploadLimiter.Permit ignored = limiter.tryAcquire(8 * 1024)) {
+            assertThat(registry.get("attachments.in-flight").gauge().value()).isEqualTo(8 * 1024);
+            assertThatThrownBy(() -> limiter.tryAcquire(4 * 1024)).isInstanceOf(UploadCapacityExceededException.class);
+        }
+        assertThat(registry.get("attachments.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void tryAcquire_letsAFileLargerThanTheCapRunAlone() {
+        try (UploadLimiter.Permit permit = limiter.tryAcquire(DataSize.ofMegabytes(5).toBytes())) {
+            assertThat(permit.count()).isEqualTo(10);
+        }
+        limiter.tryAcquire(1).close();
+    }
+}